@@ -0,0 +1,101 @@
+package MyPackage;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for loading the Attendance Record CSV
+ *
+ * The file is generated once per trial. Before every operation the
+ * employees' attendance is cleared, so each operation is a full load of
+ * the file into an empty workforce.
+ *
+ * loadParallel runs in a pool of each parallelism, to show how it scales
+ * with cores. The gap between load and loadParallel depends on the number
+ * of cores, so their results only hold for the machine they were recorded
+ * on. The baseline comes from a single-core machine, where every
+ * parallelism runs as fast as load at best; scaling has not been measured
+ * on several cores yet.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AttendanceParseBenchmark {
+    /** Number of employees */
+    @Param({"34", "10000", "1000000"})
+    public int employees;
+
+    /** Months of attendance per employee */
+    @Param({"1", "60"})
+    public int months;
+
+    private List<Employee> workforce;
+    private AttendanceCsvLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workforce = BenchmarkData.workforce(employees);
+        Path file = BenchmarkData.writeAttendanceCsv(workforce, months);
+        loader = new AttendanceCsvLoader(file.toString());
+    }
+
+    @Setup(Level.Invocation)
+    public void clearAttendance() {
+        for (Employee employee : workforce) {
+            employee.clearAttendance();
+        }
+    }
+
+    @Benchmark
+    public long load() {
+        return loader.load(workforce);
+    }
+
+    @Benchmark
+    public long loadParallel(Pool pool) {
+        return loader.loadParallel(workforce, pool.pool);
+    }
+
+    /**
+     * Pool for loadParallel, so only that benchmark runs at each parallelism
+     */
+    @State(Scope.Benchmark)
+    public static class Pool {
+        /** Worker threads in the pool */
+        @Param({"1", "2", "4", "8"})
+        public int parallelism;
+
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH CSV result file against the stored baseline
+ *
+ * Rows are matched on benchmark name and parameters. For each match the
+ * baseline score, the new score and the change are printed. Scores are
+ * times per operation, so a positive change is a slowdown. The program
+ * exits with status 1 if any benchmark is slower than the threshold.
+ *
+ * Usage: BenchmarkCompare baseline.csv latest.csv [threshold percent]
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class BenchmarkCompare {
+    /** Default slowdown, in percent, reported as a regression */
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    private BenchmarkCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkCompare baseline.csv latest.csv [threshold percent]");
+            System.exit(2);
+        }
+        Map<String, Double> baseline = read(args[0]);
+        Map<String, Double> latest = read(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Latest", "Change");
+        for (Map.Entry<String, Double> entry : latest.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", entry.getValue(), "new");
+                continue;
+            }
+            double change = (entry.getValue() - before) / before * 100;
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before, entry.getValue(), change,
+                regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) slower than the baseline by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the scores of a JMH result file written with -rf csv
+     *
+     * @return Score per benchmark and parameter set, in file order
+     */
+    private static Map<String, Double> read(String path) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        Map<String, Double> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+        List<String> header = fields(lines.get(0));
+        int name = header.indexOf("Benchmark");
+        int score = header.indexOf("Score");
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> row = fields(line);
+            StringBuilder key = new StringBuilder(row.get(name));
+            for (int i = 0; i < header.size(); i++) {
+                // A parameter the benchmark does not use is empty, and left out so runs of fewer benchmarks match
+                if (header.get(i).startsWith("Param: ") && !row.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(row.get(i));
+                }
+            }
+            scores.put(key.toString(), Double.parseDouble(row.get(score)));
+        }
+        return scores;
+    }
+
+    /**
+     * Splits one CSV line, removing the quotes JMH puts around each field
+     */
+    private static List<String> fields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
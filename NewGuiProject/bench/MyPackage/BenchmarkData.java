@@ -0,0 +1,167 @@
+package MyPackage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic workforce and attendance data for the benchmarks
+ *
+ * Employees are numbered from 10001 like the bundled Employee Details file,
+ * and every employee clocks in on every weekday from FIRST_DAY for the
+ * requested number of months. Times come from a fixed seed, so each scale
+ * produces the same data on every run and results stay comparable with the
+ * stored baseline.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class BenchmarkData {
+    /** First day of generated attendance, the first day in the bundled file */
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 6, 3);
+
+    /** Seed shared by every generator */
+    private static final long SEED = 20240603L;
+
+    private static final String[] POSITIONS = {
+        "Chief Executive Officer", "HR Manager", "Payroll Team Leader",
+        "Account Rank and File", "Sales & Marketing", "Customer Service and Relations"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates employees 10001 onwards with varied positions and hourly rates
+     *
+     * @param count Number of employees
+     * @return New employees without attendance
+     */
+    static List<Employee> workforce(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = Integer.toString(10001 + i);
+            double hourlyRate = Math.round(random.nextDouble(130, 540) * 100) / 100.0;
+            employees.add(new Employee(id, "First" + i, "Last" + i,
+                POSITIONS[i % POSITIONS.length], "Manuel III Garcia",
+                "44-4506057-3", "820126853951", "691295330870", "442-605-657-000", hourlyRate));
+        }
+        return employees;
+    }
+
+    /**
+     * Lists the weekdays covered by the given number of months
+     *
+     * @param months Number of months from FIRST_DAY
+     * @return Weekdays in date order
+     */
+    static List<LocalDate> workdays(int months) {
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate end = FIRST_DAY.plusMonths(months);
+        for (LocalDate day = FIRST_DAY; day.isBefore(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Records generated attendance directly into the employees
+     *
+     * @param employees Employees that receive the records
+     * @param months Number of months of attendance
+     */
+    static void recordAttendance(List<Employee> employees, int months) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (LocalDate day : workdays(months)) {
+            int epochDay = (int) day.toEpochDay();
+            for (Employee employee : employees) {
+                int login = loginMinute(random);
+                employee.recordAttendance(epochDay, login, logoutMinute(random, login));
+            }
+        }
+        for (Employee employee : employees) {
+            employee.trimAttendance();
+        }
+    }
+
+    /**
+     * Writes generated attendance as an Attendance Record CSV file
+     * Rows are grouped by date, as in the biometric export
+     *
+     * @param employees Employees to write rows for
+     * @param months Number of months of attendance
+     * @return Temporary file, deleted when the JVM exits
+     */
+    static Path writeAttendanceCsv(List<Employee> employees, int months) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        try {
+            Path file = Files.createTempFile("motorph-attendance-", ".csv");
+            file.toFile().deleteOnExit();
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("Employee #,Last Name,First Name,Date,Log In,Log Out\r\n");
+                for (LocalDate day : workdays(months)) {
+                    String date = day.getMonthValue() + "/" + day.getDayOfMonth() + "/" + day.getYear();
+                    for (Employee employee : employees) {
+                        int login = loginMinute(random);
+                        int logout = logoutMinute(random, login);
+                        writer.write(employee.getId());
+                        writer.write(',');
+                        writer.write(employee.getLastName());
+                        writer.write(',');
+                        writer.write(employee.getFirstName());
+                        writer.write(',');
+                        writer.write(date);
+                        writer.write(',');
+                        writer.write(time(login));
+                        writer.write(',');
+                        writer.write(time(logout));
+                        writer.write("\r\n");
+                    }
+                }
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write benchmark attendance file", e);
+        }
+    }
+
+    /**
+     * Creates gross pays spread over every SSS bracket and tax band
+     *
+     * @param count Number of values
+     * @return Gross pays between 2,000 and 800,000
+     */
+    static double[] grossPays(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] pays = new double[count];
+        for (int i = 0; i < count; i++) {
+            // Mostly ordinary salaries, with a tail reaching the top tax band
+            pays[i] = i % 20 == 0 ? random.nextDouble(2000, 800000) : random.nextDouble(2000, 60000);
+        }
+        return pays;
+    }
+
+    private static int loginMinute(SplittableRandom random) {
+        return 7 * 60 + 30 + random.nextInt(150);
+    }
+
+    private static int logoutMinute(SplittableRandom random, int login) {
+        return Math.min(23 * 60 + 59, login + 8 * 60 + random.nextInt(180));
+    }
+
+    private static String time(int minute) {
+        int m = minute % 60;
+        return (minute / 60) + (m < 10 ? ":0" : ":") + m;
+    }
+}
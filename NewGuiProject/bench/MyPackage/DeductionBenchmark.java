@@ -0,0 +1,97 @@
+package MyPackage;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar and batch deduction methods of Employee
+ *
+ * The scalar cases call calculateBasicDeduction and calculateTaxDeduction
+ * once per gross pay, as a per-employee payroll loop does. The batch cases
+ * call calculateBasicDeductions and calculateTaxDeductions once for the
+ * whole array, which uses the Vector API in this fork. The centavo cases
+ * call the long batch methods directly, without converting from pesos.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DeductionBenchmark {
+    /** Number of gross pays, one per employee */
+    @Param({"1000000"})
+    public int employees;
+
+    private Employee employee;
+    private double[] grossPays;
+    private double[] result;
+    private long[] grossCentavos;
+    private long[] resultCentavos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employee = BenchmarkData.workforce(1).get(0);
+        grossPays = BenchmarkData.grossPays(employees);
+        result = new double[employees];
+        grossCentavos = new long[employees];
+        resultCentavos = new long[employees];
+        for (int i = 0; i < employees; i++) {
+            grossCentavos[i] = Money.ofPesos(grossPays[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] basicScalar() {
+        for (int i = 0; i < grossPays.length; i++) {
+            result[i] = employee.calculateBasicDeduction(grossPays[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] basicBatch() {
+        employee.calculateBasicDeductions(grossPays, result);
+        return result;
+    }
+
+    @Benchmark
+    public long[] basicBatchCentavos() {
+        employee.calculateBasicDeductionsCentavos(grossCentavos, resultCentavos);
+        return resultCentavos;
+    }
+
+    @Benchmark
+    public double[] taxScalar() {
+        for (int i = 0; i < grossPays.length; i++) {
+            result[i] = employee.calculateTaxDeduction(grossPays[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] taxBatch() {
+        employee.calculateTaxDeductions(grossPays, result);
+        return result;
+    }
+
+    @Benchmark
+    public long[] taxBatchCentavos() {
+        employee.calculateTaxDeductionsCentavos(grossCentavos, resultCentavos);
+        return resultCentavos;
+    }
+}
@@ -0,0 +1,69 @@
+package MyPackage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for Employee.toCSV and Employee.fromCSV
+ *
+ * Each operation converts the whole workforce, so the score is the time
+ * for one export or import of every employee with their hours worked.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmployeeCsvBenchmark {
+    /** Number of employees */
+    @Param({"34", "10000", "1000000"})
+    public int employees;
+
+    /** Months of attendance per employee */
+    @Param({"1", "60"})
+    public int months;
+
+    private List<Employee> workforce;
+    private String[] lines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workforce = BenchmarkData.workforce(employees);
+        BenchmarkData.recordAttendance(workforce, months);
+        lines = new String[workforce.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = workforce.get(i).toCSV();
+        }
+    }
+
+    @Benchmark
+    public void toCSV(Blackhole blackhole) {
+        for (Employee employee : workforce) {
+            blackhole.consume(employee.toCSV());
+        }
+    }
+
+    @Benchmark
+    public void fromCSV(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(Employee.fromCSV(line));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package MyPackage;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the type-ahead search behind the profile table
+ *
+ * The queries are what one keystroke produces: a name prefix with many
+ * matches, two prefixes that must both match, and an exact employee #.
+ * (The generated SSS number is shared by every employee, so it would
+ * measure setting 100,000 bits rather than the lookup.)
+ * build() measures indexing the whole workforce.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmployeeSearchBenchmark {
+    /** Number of employees indexed */
+    @Param({"100000"})
+    public int employees;
+
+    private List<Employee> workforce;
+    private EmployeeSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workforce = BenchmarkData.workforce(employees);
+        index = new EmployeeSearchIndex();
+        for (Employee employee : workforce) {
+            index.add(employee);
+        }
+    }
+
+    @Benchmark
+    public BitSet namePrefix() {
+        return index.search("first12");
+    }
+
+    @Benchmark
+    public BitSet twoPrefixes() {
+        return index.search("last123 first12");
+    }
+
+    @Benchmark
+    public BitSet exactNumber() {
+        return index.search("60001");
+    }
+
+    @Benchmark
+    public EmployeeSearchIndex build() {
+        EmployeeSearchIndex built = new EmployeeSearchIndex();
+        for (Employee employee : workforce) {
+            built.add(employee);
+        }
+        return built;
+    }
+}
@@ -0,0 +1,133 @@
+package MyPackage;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares three ways of computing net pay from gross pay
+ *
+ * - doubles: the formulas Employee used before amounts moved to centavos,
+ *   copied here so the cost can still be measured
+ * - centavos: the long-based methods of Employee, through Money
+ * - bigDecimal: the same formulas with BigDecimal and HALF_UP rounding,
+ *   the usual exact alternative
+ *
+ * Each case returns the total net pay so the work is not optimized away.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MoneyBenchmark {
+    private static final BigDecimal[] THRESHOLDS = decimals("20833", "33333", "66667", "166667", "666667");
+    private static final BigDecimal[] RATES = decimals("0.20", "0.25", "0.30", "0.32", "0.35");
+    private static final BigDecimal[] BASES = decimals("0", "2500", "10833.33", "40833.33", "200833.33");
+    private static final BigDecimal PHILHEALTH_RATE = new BigDecimal("0.04");
+    private static final BigDecimal PAG_IBIG_RATE = new BigDecimal("0.02");
+    private static final BigDecimal PAG_IBIG_CAP = new BigDecimal("100");
+
+    /** Number of gross pays, one per employee */
+    @Param({"1000000"})
+    public int employees;
+
+    private Employee employee;
+    private SssContributionTable sssTable;
+    private double[] grossPays;
+    private long[] grossCentavos;
+    private BigDecimal[] grossDecimals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employee = BenchmarkData.workforce(1).get(0);
+        sssTable = SssContributionTable.current();
+        grossPays = BenchmarkData.grossPays(employees);
+        grossCentavos = new long[employees];
+        grossDecimals = new BigDecimal[employees];
+        for (int i = 0; i < employees; i++) {
+            grossCentavos[i] = Money.ofPesos(grossPays[i]);
+            grossDecimals[i] = BigDecimal.valueOf(grossCentavos[i], 2);
+        }
+    }
+
+    @Benchmark
+    public double doubles() {
+        double total = 0;
+        for (double gross : grossPays) {
+            double basic = sssTable.contribution(gross) + gross * 0.04 + Math.min(gross * 0.02, 100);
+            total += gross - basic - doubleTax(gross);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long centavos() {
+        long total = 0;
+        for (long gross : grossCentavos) {
+            total = Money.add(total, employee.calculateNetPayCentavos(gross));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < grossDecimals.length; i++) {
+            BigDecimal gross = grossDecimals[i];
+            BigDecimal sss = BigDecimal.valueOf(sssTable.contribution(grossCentavos[i]), 2);
+            BigDecimal philHealth = round(gross.multiply(PHILHEALTH_RATE));
+            BigDecimal pagIbig = round(gross.multiply(PAG_IBIG_RATE)).min(PAG_IBIG_CAP);
+            total = total.add(gross.subtract(sss).subtract(philHealth).subtract(pagIbig).subtract(decimalTax(gross)));
+        }
+        return total;
+    }
+
+    private static double doubleTax(double grossPay) {
+        if (grossPay <= 20833) return 0;
+        if (grossPay <= 33333) return (grossPay - 20833) * 0.20;
+        if (grossPay <= 66667) return 2500 + (grossPay - 33333) * 0.25;
+        if (grossPay <= 166667) return 10833.33 + (grossPay - 66667) * 0.30;
+        if (grossPay <= 666667) return 40833.33 + (grossPay - 166667) * 0.32;
+        return 200833.33 + (grossPay - 666667) * 0.35;
+    }
+
+    private static BigDecimal decimalTax(BigDecimal grossPay) {
+        if (grossPay.compareTo(THRESHOLDS[0]) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        int band = THRESHOLDS.length - 1;
+        while (grossPay.compareTo(THRESHOLDS[band]) <= 0) {
+            band--;
+        }
+        return BASES[band].add(round(grossPay.subtract(THRESHOLDS[band]).multiply(RATES[band])));
+    }
+
+    private static BigDecimal round(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal[] decimals(String... values) {
+        BigDecimal[] result = new BigDecimal[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = new BigDecimal(values[i]);
+        }
+        return result;
+    }
+}
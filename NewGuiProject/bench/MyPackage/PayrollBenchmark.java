@@ -0,0 +1,89 @@
+package MyPackage;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the Payable methods of Employee
+ *
+ * Each operation runs one method for the whole workforce. calculatePay
+ * and the payroll run cover the last semi-monthly period of the generated
+ * attendance; the deductions take gross pays spread over every SSS bracket
+ * and tax band.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PayrollBenchmark {
+    /** Number of employees */
+    @Param({"34", "10000", "1000000"})
+    public int employees;
+
+    /** Months of attendance per employee */
+    @Param({"1", "60"})
+    public int months;
+
+    private Employee[] workforce;
+    private double[] grossPays;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private PayrollRun payrollRun;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> list = BenchmarkData.workforce(employees);
+        BenchmarkData.recordAttendance(list, months);
+        workforce = list.toArray(new Employee[0]);
+        grossPays = BenchmarkData.grossPays(employees);
+        periodEnd = BenchmarkData.FIRST_DAY.plusMonths(months).minusDays(1);
+        periodStart = periodEnd.minusDays(14);
+        payrollRun = new PayrollRun();
+    }
+
+    @Benchmark
+    public void calculatePay(Blackhole blackhole) {
+        for (Employee employee : workforce) {
+            blackhole.consume(employee.calculatePay(periodStart, periodEnd));
+        }
+    }
+
+    @Benchmark
+    public void calculateBasicDeduction(Blackhole blackhole) {
+        for (int i = 0; i < workforce.length; i++) {
+            blackhole.consume(workforce[i].calculateBasicDeduction(grossPays[i]));
+        }
+    }
+
+    @Benchmark
+    public void calculateTaxDeduction(Blackhole blackhole) {
+        for (int i = 0; i < workforce.length; i++) {
+            blackhole.consume(workforce[i].calculateTaxDeduction(grossPays[i]));
+        }
+    }
+
+    @Benchmark
+    public PayrollResult payrollRun() {
+        return payrollRun.run(Arrays.asList(workforce), periodStart, periodEnd);
+    }
+}
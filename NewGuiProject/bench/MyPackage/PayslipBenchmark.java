@@ -0,0 +1,74 @@
+package MyPackage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the payslip date-range query behind the empPayslip View button
+ *
+ * Each employee has five years of attendance. fiveYears() asks for the
+ * whole span and oneCutoff() for a single cutoff in the middle; lookup()
+ * adds finding the employee by number in an EmployeeIndex, as
+ * PayrollData.findEmployee does for the form.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PayslipBenchmark {
+    /** Number of employees, all indexed */
+    @Param({"1000"})
+    public int employees;
+
+    private EmployeeIndex index;
+    private Employee employee;
+    private String employeeId;
+    private LocalDate lastDay;
+    private LocalDate cutoffStart;
+    private LocalDate cutoffEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> workforce = BenchmarkData.workforce(employees);
+        BenchmarkData.recordAttendance(workforce, 60);
+        index = new EmployeeIndex(workforce);
+        employee = workforce.get(employees / 2);
+        employeeId = employee.getId();
+        lastDay = BenchmarkData.FIRST_DAY.plusMonths(60).minusDays(1);
+        cutoffStart = BenchmarkData.FIRST_DAY.plusMonths(30).withDayOfMonth(1);
+        cutoffEnd = cutoffStart.withDayOfMonth(15);
+    }
+
+    @Benchmark
+    public Payslip fiveYears() {
+        return employee.getPayslip(BenchmarkData.FIRST_DAY, lastDay);
+    }
+
+    @Benchmark
+    public Payslip oneCutoff() {
+        return employee.getPayslip(cutoffStart, cutoffEnd);
+    }
+
+    @Benchmark
+    public Payslip lookup() {
+        return index.get(employeeId).getPayslip(cutoffStart, cutoffEnd);
+    }
+}
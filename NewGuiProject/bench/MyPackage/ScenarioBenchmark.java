@@ -0,0 +1,74 @@
+package MyPackage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks ScenarioSimulator on a generated workforce
+ *
+ * The scenarios vary the hourly rate and the PhilHealth rate together.
+ * The snapshot is taken once per trial; snapshot() measures taking it.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScenarioBenchmark {
+    /** Number of employees */
+    @Param({"20000"})
+    public int employees;
+
+    /** Number of scenarios per simulation */
+    @Param({"100"})
+    public int scenarios;
+
+    private List<Employee> workforce;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private ScenarioSimulator simulator;
+    private List<PayrollScenario> variants;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workforce = BenchmarkData.workforce(employees);
+        BenchmarkData.recordAttendance(workforce, 1);
+        periodEnd = BenchmarkData.FIRST_DAY.plusMonths(1).minusDays(1);
+        periodStart = periodEnd.minusDays(14);
+        simulator = new ScenarioSimulator(workforce, periodStart, periodEnd);
+        variants = new ArrayList<>(scenarios);
+        for (int i = 0; i < scenarios; i++) {
+            variants.add(PayrollScenario.current("Scenario " + i)
+                .withHourlyRateFactor(9_500 + i * 10)
+                .withPhilHealthRate(400 + i));
+        }
+    }
+
+    @Benchmark
+    public List<ScenarioResult> simulate() {
+        return simulator.simulate(variants);
+    }
+
+    @Benchmark
+    public ScenarioSimulator snapshot() {
+        return new ScenarioSimulator(workforce, periodStart, periodEnd);
+    }
+}
@@ -0,0 +1,729 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Loader for the "MotorPH Employee Data - Attendance Record.csv" file
+ *
+ * This class reads biometric attendance exports with the layout
+ * Employee #,Last Name,First Name,Date,Log In,Log Out:
+ * - Maps the file into memory with FileChannel.map instead of reading lines
+ * - Parses M/d/yyyy dates and H:mm times straight from the bytes into
+ *   epoch days and minutes of the day
+ * - Hands each row to the matching Employee through recordAttendance
+ *
+ * No String, LocalDate or LocalTime is created per field, so very large
+ * exports load without producing garbage for every row.
+ *
+ * loadParallel() splits the file into byte ranges that end on a newline,
+ * parses the ranges on a ForkJoinPool, and then hands each worker a disjoint
+ * range of employees to update, so no lock is taken. Every employee receives
+ * its rows in file order, giving the same result as load().
+ *
+ * loadParallel() has been checked to give the same result as load() at
+ * parallelism 1, 2, 4 and 8, but its speed-up on several cores has not
+ * been measured; on a single core it takes as long as load(). Compare the
+ * two in AttendanceParseBenchmark, which runs loadParallel() at each of
+ * those parallelisms, on the target machine before counting on it.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public class AttendanceCsvLoader {
+    /** Default location of the attendance file, relative to the project directory */
+    public static final String DEFAULT_FILE_PATH = "src/MyPackage/MotorPH Employee Data - Attendance Record.csv";
+
+    /** Largest region mapped at once; rows never straddle two regions */
+    private static final long MAX_REGION = 1L << 30;
+
+    /** Value passed for a missing log in or log out time */
+    static final int NO_TIME = -1;
+
+    /** Returned by parseTime for a field that is not H:mm */
+    private static final int MALFORMED = -2;
+
+    /** Smallest byte range parsed by one parallel task */
+    private static final int MIN_CHUNK = 1 << 20;
+
+    /** Fewest employees updated by one parallel merge task */
+    private static final int MIN_MERGE = 64;
+
+    /**
+     * Receives parsed attendance rows
+     */
+    interface RowSink {
+        /**
+         * Accepts one attendance row
+         *
+         * @param employeeNumber The employee number, e.g. 10001
+         * @param epochDay The date as days since 1970-01-01
+         * @param loginMinute Minute of the day of the log in, or NO_TIME
+         * @param logoutMinute Minute of the day of the log out, or NO_TIME
+         */
+        void accept(int employeeNumber, int epochDay, int loginMinute, int logoutMinute);
+    }
+
+    /** Path of the attendance file */
+    private final String filePath;
+
+    /**
+     * Constructs a loader for the default attendance file
+     */
+    public AttendanceCsvLoader() {
+        this(DEFAULT_FILE_PATH);
+    }
+
+    /**
+     * Constructs a loader for the given attendance file
+     *
+     * @param filePath Path of the CSV file
+     */
+    public AttendanceCsvLoader(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Gets the path of the attendance file
+     *
+     * @return The file path
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Loads all attendance rows into the given employees
+     * Rows for employee numbers not in the list are skipped
+     *
+     * @param employees Employees that receive the attendance records
+     * @return Number of rows applied to an employee
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    public long load(List<Employee> employees) {
+        EmployeeIndex index = new EmployeeIndex(employees);
+        long[] applied = new long[1];
+        scan((number, day, login, logout) -> {
+            Employee employee = index.get(number);
+            if (employee != null) {
+                employee.recordAttendance(day, login, logout);
+                applied[0]++;
+            }
+        });
+        for (Employee employee : employees) {
+            employee.trimAttendance();
+        }
+        return applied[0];
+    }
+
+    /**
+     * Loads all attendance rows into the given employees using the common ForkJoinPool
+     *
+     * @param employees Employees that receive the attendance records
+     * @return Number of rows applied to an employee
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    public long loadParallel(List<Employee> employees) {
+        return loadParallel(employees, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads all attendance rows into the given employees, parsing and
+     * merging on the given pool
+     * The employees end up exactly as after load()
+     *
+     * @param employees Employees that receive the attendance records
+     * @param pool Pool that runs the parse and merge tasks
+     * @return Number of rows applied to an employee
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    public long loadParallel(List<Employee> employees, ForkJoinPool pool) {
+        Chunk[] parsed = parseParallel(new EmployeeIndex(employees), pool);
+        pool.invoke(new MergeTask(employees, null, 0, employees.size(), parsed));
+        return rowsIn(parsed);
+    }
+
+    /**
+     * Loads all attendance rows into fresh stores instead of the employees,
+     * so a reload can be prepared while the employees are still being read
+     * stores[i] receives the rows of employees.get(i)
+     *
+     * @param employees Employees whose rows are loaded
+     * @param stores Empty stores, one per employee
+     * @return Number of rows applied to a store
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    long loadInto(List<Employee> employees, AttendanceStore[] stores) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Chunk[] parsed = parseParallel(new EmployeeIndex(employees), pool);
+        pool.invoke(new MergeTask(employees, stores, 0, employees.size(), parsed));
+        return rowsIn(parsed);
+    }
+
+    /**
+     * Parses the whole file on the pool into chunks in file order
+     *
+     * @param index Index of the employees whose rows are kept
+     * @param pool Pool that runs the parse tasks
+     * @return The parsed chunks
+     */
+    private Chunk[] parseParallel(EmployeeIndex index, ForkJoinPool pool) {
+        List<Chunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long length = Math.min(MAX_REGION, size - start);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                int end = (int) length;
+                if (start + length < size) {
+                    end = lastLineEnd(region, end);
+                    if (end == 0) {
+                        throw new IllegalArgumentException("Attendance row longer than " + MAX_REGION + " bytes at offset " + start);
+                    }
+                }
+                int chunkSize = Math.max(MIN_CHUNK, end / (pool.getParallelism() * 4));
+                chunks.addAll(pool.invoke(new ParseTask(region, 0, end, start == 0, chunkSize, index)));
+                start += end;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read attendance file " + filePath, e);
+        }
+        return chunks.toArray(new Chunk[0]);
+    }
+
+    private static long rowsIn(Chunk[] parsed) {
+        long rows = 0;
+        for (Chunk chunk : parsed) {
+            rows += chunk.size;
+        }
+        return rows;
+    }
+
+    /**
+     * Rows of one byte range, grouped by employee position
+     */
+    private static final class Chunk implements RowSink {
+        private final EmployeeIndex index;
+        /** Employee position in the high 32 bits, row number in the low 32 bits */
+        private long[] keys = new long[1024];
+        private int[] days = new int[1024];
+        private short[] logins = new short[1024];
+        private short[] logouts = new short[1024];
+        /** Rows that matched an employee */
+        private int size;
+
+        Chunk(EmployeeIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void accept(int employeeNumber, int epochDay, int loginMinute, int logoutMinute) {
+            int position = index.positionOf(employeeNumber);
+            if (position < 0) {
+                return;
+            }
+            if (size == keys.length) {
+                int capacity = size * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                days = Arrays.copyOf(days, capacity);
+                logins = Arrays.copyOf(logins, capacity);
+                logouts = Arrays.copyOf(logouts, capacity);
+            }
+            keys[size] = (long) position << 32 | size;
+            days[size] = epochDay;
+            logins[size] = (short) loginMinute;
+            logouts[size] = (short) logoutMinute;
+            size++;
+        }
+
+        /**
+         * Sorts the rows by employee, keeping file order within an employee
+         */
+        void groupByEmployee() {
+            Arrays.sort(keys, 0, size);
+        }
+
+        /**
+         * Finds the first grouped row for an employee at or after a position
+         *
+         * @param position Employee position
+         * @return Index into the grouped rows
+         */
+        int firstRowOf(int position) {
+            long key = (long) position << 32;
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Parses a newline-aligned byte range, splitting it in half while it is
+     * larger than the chunk size; results come back in file order
+     */
+    private static final class ParseTask extends RecursiveTask<List<Chunk>> {
+        private final ByteBuffer buffer;
+        private final int from;
+        private final int to;
+        private final boolean skipHeader;
+        private final int chunkSize;
+        private final EmployeeIndex index;
+
+        ParseTask(ByteBuffer buffer, int from, int to, boolean skipHeader, int chunkSize, EmployeeIndex index) {
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.skipHeader = skipHeader;
+            this.chunkSize = chunkSize;
+            this.index = index;
+        }
+
+        @Override
+        protected List<Chunk> compute() {
+            if (to - from > chunkSize) {
+                int middle = skipLine(buffer, from + (to - from) / 2, to);
+                if (middle < to) {
+                    ParseTask right = new ParseTask(buffer, middle, to, false, chunkSize, index);
+                    right.fork();
+                    List<Chunk> chunks = new ParseTask(buffer, from, middle, skipHeader, chunkSize, index).compute();
+                    chunks.addAll(right.join());
+                    return chunks;
+                }
+            }
+            Chunk chunk = new Chunk(index);
+            parse(buffer, from, to, skipHeader, chunk);
+            chunk.groupByEmployee();
+            List<Chunk> chunks = new ArrayList<>();
+            chunks.add(chunk);
+            return chunks;
+        }
+    }
+
+    /**
+     * Applies the parsed rows to a range of employees, or to their fresh stores
+     * Each task owns its employees, so an employee's lock is taken once for
+     * all of its rows and never contended; chunks are visited in file order
+     * so later rows win as in load()
+     */
+    private static final class MergeTask extends RecursiveAction {
+        private final List<Employee> employees;
+        /** Store per employee position receiving the rows, or null to update the employees */
+        private final AttendanceStore[] stores;
+        private final int from;
+        private final int to;
+        private final Chunk[] chunks;
+
+        MergeTask(List<Employee> employees, AttendanceStore[] stores, int from, int to, Chunk[] chunks) {
+            this.employees = employees;
+            this.stores = stores;
+            this.from = from;
+            this.to = to;
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MIN_MERGE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MergeTask(employees, stores, from, middle, chunks),
+                    new MergeTask(employees, stores, middle, to, chunks));
+                return;
+            }
+            int[] next = new int[chunks.length];
+            for (int c = 0; c < chunks.length; c++) {
+                next[c] = chunks[c].firstRowOf(from);
+            }
+            for (int position = from; position < to; position++) {
+                Employee employee = employees.get(position);
+                if (stores == null) {
+                    synchronized (employee) {
+                        merge(position, next, employee, null);
+                        employee.trimAttendance();
+                    }
+                } else {
+                    merge(position, next, employee, stores[position]);
+                    stores[position].trimToSize();
+                }
+            }
+        }
+
+        /**
+         * Applies the rows of one employee from every chunk
+         *
+         * @param position Employee position
+         * @param next Per chunk, the first grouped row not yet applied
+         * @param employee The employee, updated when store is null
+         * @param store The store receiving the rows, or null
+         */
+        private void merge(int position, int[] next, Employee employee, AttendanceStore store) {
+            for (int c = 0; c < chunks.length; c++) {
+                Chunk chunk = chunks[c];
+                int i = next[c];
+                while (i < chunk.size && (int) (chunk.keys[i] >>> 32) == position) {
+                    int row = (int) chunk.keys[i];
+                    if (store == null) {
+                        employee.recordAttendance(chunk.days[row], chunk.logins[row], chunk.logouts[row]);
+                    } else {
+                        store.record(chunk.days[row], chunk.logins[row], chunk.logouts[row]);
+                    }
+                    i++;
+                }
+                next[c] = i;
+            }
+        }
+    }
+
+    /**
+     * Parses every row of the file and passes it to the sink
+     *
+     * @param sink Receives each row in file order
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    void scan(RowSink sink) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            scan(channel, 0, channel.size(), sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read attendance file " + filePath, e);
+        }
+    }
+
+    /**
+     * Marks the rows the file holds now, before they are loaded
+     * Rows appended while they load are then applied again by whoever
+     * continues from the mark, which is harmless, instead of being missed
+     *
+     * @return Mark after the last complete row, or START if the file does not exist
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public AttendanceFileMark mark() {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            return AttendanceFileMark.at(channel, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return AttendanceFileMark.START;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read attendance file " + filePath, e);
+        }
+    }
+
+    /**
+     * Loads the rows appended after a mark into the given employees
+     *
+     * @param employees Employees that already hold the rows up to the mark
+     * @param applied Mark of the rows already loaded
+     * @return Mark after the last complete row now loaded, or null if the
+     *         file no longer holds the marked rows and must be loaded in full
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    public AttendanceFileMark loadAfter(List<Employee> employees, AttendanceFileMark applied) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            if (!applied.matches(channel)) {
+                return null;
+            }
+            EmployeeIndex index = new EmployeeIndex(employees);
+            return scanAfter(channel, applied, (number, day, login, logout) -> {
+                Employee employee = index.get(number);
+                if (employee != null) {
+                    employee.recordAttendance(day, login, logout);
+                }
+            });
+        } catch (NoSuchFileException e) {
+            return applied.getOffset() == 0 ? applied : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read attendance file " + filePath, e);
+        }
+    }
+
+    /**
+     * Parses the complete rows after a mark that matches the file
+     *
+     * @param channel The open attendance file
+     * @param applied Mark of the rows already applied
+     * @param sink Receives each new row in file order
+     * @return Mark after the last complete row parsed
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    static AttendanceFileMark scanAfter(FileChannel channel, AttendanceFileMark applied, RowSink sink)
+            throws IOException {
+        AttendanceFileMark reached = AttendanceFileMark.at(channel, applied.getOffset(), channel.size());
+        scan(channel, applied.getOffset(), reached.getOffset(), sink);
+        return reached;
+    }
+
+    /**
+     * Parses the rows in a byte range of the file, mapping at most MAX_REGION at a time
+     *
+     * @param channel The open attendance file
+     * @param start Offset of the first row; 0 or just past a newline
+     * @param size End of the range, just past a newline or at end of file
+     * @param sink Receives each row in file order
+     */
+    private static void scan(FileChannel channel, long start, long size, RowSink sink) throws IOException {
+        while (start < size) {
+            long length = Math.min(MAX_REGION, size - start);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            int end = (int) length;
+            if (start + length < size) {
+                end = lastLineEnd(region, end);
+                if (end == 0) {
+                    throw new IllegalArgumentException("Attendance row longer than " + MAX_REGION + " bytes at offset " + start);
+                }
+            }
+            parse(region, 0, end, start == 0, sink);
+            start += end;
+        }
+    }
+
+    /**
+     * Finds the end of the last complete line in a region
+     *
+     * @param buffer The mapped region
+     * @param end Exclusive end of the region
+     * @return Offset just past the last newline, or 0 if there is none
+     */
+    private static int lastLineEnd(ByteBuffer buffer, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Parses the complete rows in buffer[from, to)
+     * A first line that does not start with a digit is treated as the header
+     *
+     * @param buffer Bytes of the attendance file
+     * @param from Offset of the first row
+     * @param to Exclusive end offset, just past a newline or at end of file
+     * @param skipHeader Whether a leading header line may be present
+     * @param sink Receives each parsed row
+     * @return Number of rows parsed
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    static long parse(ByteBuffer buffer, int from, int to, boolean skipHeader, RowSink sink) {
+        int p = from;
+        if (skipHeader && p + 3 <= to && buffer.get(p) == (byte) 0xEF && buffer.get(p + 1) == (byte) 0xBB
+                && buffer.get(p + 2) == (byte) 0xBF) {
+            p += 3;
+        }
+        if (skipHeader && p < to && !isDigit(buffer.get(p))) {
+            p = skipLine(buffer, p, to);
+        }
+        long rows = 0;
+        while (p < to) {
+            byte b = buffer.get(p);
+            if (b == '\n' || b == '\r') {
+                p++;
+                continue;
+            }
+            int rowStart = p;
+
+            // Employee #
+            int number = 0;
+            int digits = 0;
+            while (p < to && isDigit(b = buffer.get(p))) {
+                number = number * 10 + (b - '0');
+                digits++;
+                p++;
+            }
+            if (digits == 0 || digits > 9 || !isComma(buffer, p, to)) {
+                throw malformed(buffer, rowStart, to, "employee number");
+            }
+            p++;
+
+            // Last Name, First Name
+            p = skipField(buffer, p, to);
+            p = skipField(buffer, p, to);
+
+            // Date, M/d/yyyy
+            int month = 0;
+            int start = p;
+            while (p < to && isDigit(b = buffer.get(p))) {
+                month = month * 10 + (b - '0');
+                p++;
+            }
+            if (p == start || p - start > 2 || p >= to || buffer.get(p) != '/') {
+                throw malformed(buffer, rowStart, to, "date");
+            }
+            p++;
+            int day = 0;
+            start = p;
+            while (p < to && isDigit(b = buffer.get(p))) {
+                day = day * 10 + (b - '0');
+                p++;
+            }
+            if (p == start || p - start > 2 || p >= to || buffer.get(p) != '/') {
+                throw malformed(buffer, rowStart, to, "date");
+            }
+            p++;
+            int year = 0;
+            start = p;
+            while (p < to && isDigit(b = buffer.get(p))) {
+                year = year * 10 + (b - '0');
+                p++;
+            }
+            if (p - start != 4 || !isComma(buffer, p, to) || !EpochDays.isValid(year, month, day)) {
+                throw malformed(buffer, rowStart, to, "date");
+            }
+            p++;
+            int epochDay = EpochDays.of(year, month, day);
+
+            // Log In, Log Out
+            int login = parseTime(buffer, p, to);
+            if (login == MALFORMED) {
+                throw malformed(buffer, rowStart, to, "log in time");
+            }
+            p = skipField(buffer, p, to);
+            int logout = parseTime(buffer, p, to);
+            if (logout == MALFORMED) {
+                throw malformed(buffer, rowStart, to, "log out time");
+            }
+            p = skipLine(buffer, p, to);
+
+            sink.accept(number, epochDay, login, logout);
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Parses an H:mm time field into minutes of the day
+     *
+     * @param buffer Bytes of the attendance file
+     * @param p Offset of the field
+     * @param to Exclusive end offset
+     * @return Minute of the day, NO_TIME for an empty field, or MALFORMED
+     */
+    private static int parseTime(ByteBuffer buffer, int p, int to) {
+        if (p >= to || isFieldEnd(buffer.get(p))) {
+            return NO_TIME;
+        }
+        int hour = 0;
+        int start = p;
+        byte b;
+        while (p < to && isDigit(b = buffer.get(p))) {
+            hour = hour * 10 + (b - '0');
+            p++;
+        }
+        if (p == start || p - start > 2 || p >= to || buffer.get(p) != ':') {
+            return MALFORMED;
+        }
+        p++;
+        int minute = 0;
+        start = p;
+        while (p < to && isDigit(b = buffer.get(p))) {
+            minute = minute * 10 + (b - '0');
+            p++;
+        }
+        if (p - start != 2 || hour > 23 || minute > 59) {
+            return MALFORMED;
+        }
+        // Allow a seconds part (H:mm:ss) but ignore it
+        while (p < to && !isFieldEnd(buffer.get(p))) {
+            b = buffer.get(p);
+            if (b != ':' && !isDigit(b)) {
+                return MALFORMED;
+            }
+            p++;
+        }
+        return hour * 60 + minute;
+    }
+
+    /**
+     * Skips a field and its trailing comma, honouring quotes
+     *
+     * @param buffer Bytes of the attendance file
+     * @param p Offset of the field
+     * @param to Exclusive end offset
+     * @return Offset of the next field, or of the line end if this was the last field
+     */
+    private static int skipField(ByteBuffer buffer, int p, int to) {
+        boolean quoted = false;
+        while (p < to) {
+            byte b = buffer.get(p);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                if (b == ',') {
+                    return p + 1;
+                }
+                if (b == '\n' || b == '\r') {
+                    return p;
+                }
+            }
+            p++;
+        }
+        return p;
+    }
+
+    private static int skipLine(ByteBuffer buffer, int p, int to) {
+        while (p < to && buffer.get(p) != '\n') {
+            p++;
+        }
+        return p < to ? p + 1 : p;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isComma(ByteBuffer buffer, int p, int to) {
+        return p < to && buffer.get(p) == ',';
+    }
+
+    private static boolean isFieldEnd(byte b) {
+        return b == ',' || b == '\n' || b == '\r';
+    }
+
+    /**
+     * Builds the exception for a malformed row; only called on the error path
+     *
+     * @param buffer Bytes of the attendance file
+     * @param rowStart Offset of the start of the row
+     * @param to Exclusive end offset
+     * @param what Name of the field that failed to parse
+     * @return Exception describing the row
+     */
+    private static IllegalArgumentException malformed(ByteBuffer buffer, int rowStart, int to, String what) {
+        int end = rowStart;
+        while (end < to && buffer.get(end) != '\n' && buffer.get(end) != '\r') {
+            end++;
+        }
+        byte[] row = new byte[end - rowStart];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = buffer.get(rowStart + i);
+        }
+        return new IllegalArgumentException("Invalid " + what + " in attendance row: "
+            + new String(row, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,156 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * Position in the attendance CSV up to which rows have been applied
+ *
+ * Time clocks only ever append to the attendance file, so attendance
+ * loaded from it stays valid while the file merely grows. A mark records
+ * the offset just past the last complete row that was applied, with a
+ * CRC32C of the first and of the last few kilobytes before that offset:
+ * - If the file still holds those bytes, only the rows after the offset
+ *   are new, and they can be applied on top of the loaded data
+ * - Otherwise the file was truncated or rewritten and has to be loaded
+ *   in full
+ *
+ * Checking a mark reads a fixed amount of data regardless of the file
+ * size. Marks are immutable.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class AttendanceFileMark {
+    /** Mark of a file none of which has been applied; matches any file */
+    public static final AttendanceFileMark START = new AttendanceFileMark(0, 0, 0);
+
+    /** Bytes at the start of the file, and before the offset, covered by the checksums */
+    private static final int WINDOW = 4096;
+
+    /** Offset just past the last row applied */
+    private final long offset;
+    /** CRC32C of the start of the file */
+    private final int headChecksum;
+    /** CRC32C of the bytes just before the offset */
+    private final int tailChecksum;
+
+    /**
+     * Constructs a mark from its stored parts
+     *
+     * @param offset Offset just past the last row applied
+     * @param headChecksum CRC32C of the first bytes of the file
+     * @param tailChecksum CRC32C of the bytes before the offset
+     */
+    AttendanceFileMark(long offset, int headChecksum, int tailChecksum) {
+        this.offset = offset;
+        this.headChecksum = headChecksum;
+        this.tailChecksum = tailChecksum;
+    }
+
+    /**
+     * Marks the end of the last complete row between two offsets of a file
+     *
+     * @param channel The open attendance file
+     * @param from Offset at which to stop looking, itself the end of a row or 0
+     * @param to End of the data to consider, normally the file size
+     * @return Mark just past the last newline, or at {@code from} if there is none
+     * @throws IOException if the file cannot be read
+     */
+    static AttendanceFileMark at(FileChannel channel, long from, long to) throws IOException {
+        long end = lastRowEnd(channel, from, to);
+        return new AttendanceFileMark(end, checksum(channel, 0, Math.min(WINDOW, end)),
+                                      checksum(channel, Math.max(0, end - WINDOW), end));
+    }
+
+    /**
+     * Checks that the file still holds the rows this mark covers
+     *
+     * @param channel The open attendance file
+     * @return true if only rows after the offset can have changed
+     * @throws IOException if the file cannot be read
+     */
+    boolean matches(FileChannel channel) throws IOException {
+        return channel.size() >= offset
+            && checksum(channel, 0, Math.min(WINDOW, offset)) == headChecksum
+            && checksum(channel, Math.max(0, offset - WINDOW), offset) == tailChecksum;
+    }
+
+    /**
+     * Gets the offset just past the last row applied
+     *
+     * @return The byte offset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    int getHeadChecksum() {
+        return headChecksum;
+    }
+
+    int getTailChecksum() {
+        return tailChecksum;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof AttendanceFileMark)) {
+            return false;
+        }
+        AttendanceFileMark mark = (AttendanceFileMark) other;
+        return offset == mark.offset && headChecksum == mark.headChecksum && tailChecksum == mark.tailChecksum;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(offset) + headChecksum) + tailChecksum;
+    }
+
+    @Override
+    public String toString() {
+        return "offset " + offset;
+    }
+
+    /**
+     * Computes the CRC32C of a byte range of the file
+     */
+    private static int checksum(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        while (buffer.hasRemaining() && channel.read(buffer, from + buffer.position()) >= 0) {
+            // Keep reading until the range is complete
+        }
+        buffer.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(buffer);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Finds the end of the last complete row between two offsets
+     *
+     * @return Offset just past the last newline, or {@code from} if there is none
+     */
+    private static long lastRowEnd(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long end = to;
+        while (end > from) {
+            int length = (int) Math.min(buffer.capacity(), end - from);
+            buffer.clear();
+            buffer.limit(length);
+            long start = end - length;
+            while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+                // Keep reading until the block is complete
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return from;
+    }
+}
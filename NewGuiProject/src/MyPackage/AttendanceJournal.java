@@ -0,0 +1,504 @@
+package MyPackage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of clock-in and clock-out events
+ *
+ * This class makes Employee.recordLogin and recordLogout durable without
+ * rewriting any data file:
+ * - Each event is appended as a small checksummed record
+ * - A single writer thread writes every event waiting in the queue and then
+ *   calls FileChannel.force once for the whole batch (group commit), so
+ *   many clock events share one disk sync at shift change
+ * - replay() re-applies the journal to the employees on startup and cuts
+ *   off a record left half-written by a crash
+ * - checkpoint() saves a snapshot that already contains every journaled
+ *   event and hands it the journal's end offset, so that starting from that
+ *   snapshot only replays the events written after it
+ *
+ * The events are kept after a checkpoint. The app's clock events are not
+ * rows of the attendance file, so a snapshot is only a cache of them: when
+ * the file is rewritten, the snapshot is discarded and the file imported
+ * again, and the whole journal is then replayed over it. The journal
+ * therefore grows by one record, about 20 bytes, per event.
+ *
+ * Events set a login or logout time for a date, so applying the same event
+ * twice has no further effect. Whenever the attendance file is loaded in
+ * full, every event is applied after it and wins over the file's row for
+ * the same day; a row appended to the file later is applied after the
+ * events and wins until the next full load.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public class AttendanceJournal implements Closeable {
+    /** Default location of the journal, relative to the project directory */
+    public static final String DEFAULT_FILE_PATH = "motorph-attendance.journal";
+
+    /** Record kind for a login */
+    private static final byte LOGIN = 1;
+    /** Record kind for a logout */
+    private static final byte LOGOUT = 2;
+    /** Bytes in a record besides the employee ID: kind, ID length, day, minute, CRC */
+    private static final int RECORD_OVERHEAD = 1 + 2 + 4 + 2 + 4;
+    /** Largest number of events written in one batch */
+    private static final int MAX_BATCH = 4096;
+
+    private static final Logger LOGGER = Logger.getLogger(AttendanceJournal.class.getName());
+
+    /** Path of the journal file */
+    private final String filePath;
+    /** Channel positioned at the end of the journal */
+    private final FileChannel channel;
+    /** Events waiting to be written */
+    private final LinkedBlockingQueue<Event> pending = new LinkedBlockingQueue<>();
+    /** Thread performing the group commits */
+    private final Thread writer;
+    /** Held by the writer while it writes and applies a batch, and by checkpoint() */
+    private final Object writeLock = new Object();
+    /** Run after events have been applied to the employees; may be null */
+    private final Runnable onApplied;
+    /** Set once close() has been called */
+    private volatile boolean closed;
+    /** Offset just past the last intact record seen by the latest pass over the file */
+    private long intactEnd;
+
+    /**
+     * A clock event waiting to be made durable
+     */
+    private static final class Event {
+        final Employee employee;
+        final byte kind;
+        final int epochDay;
+        final int minute;
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        Event(Employee employee, byte kind, int epochDay, int minute) {
+            this.employee = employee;
+            this.kind = kind;
+            this.epochDay = epochDay;
+            this.minute = minute;
+        }
+    }
+
+    /**
+     * Opens or creates a journal and starts its writer thread
+     * Call {@link #replay(List)} before recording new events
+     *
+     * @param filePath Path of the journal file
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public AttendanceJournal(String filePath) {
+        this(filePath, null);
+    }
+
+    /**
+     * Opens or creates a journal and starts its writer thread
+     * Call {@link #replay(List)} before recording new events
+     *
+     * @param filePath Path of the journal file
+     * @param onApplied Run, on the thread that applied them, after events reach the employees; may be null
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public AttendanceJournal(String filePath, Runnable onApplied) {
+        this.filePath = filePath;
+        this.onApplied = onApplied;
+        try {
+            this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.channel.position(channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open attendance journal " + filePath, e);
+        }
+        this.writer = new Thread(this::writeLoop, "attendance-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Gets the path of the journal file
+     *
+     * @return The file path
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Durably records a login, then applies it to the employee
+     * Blocks until the event is on disk
+     *
+     * @param employee The employee clocking in
+     * @param date The date of the login
+     * @param loginTime The time of login
+     * @throws UncheckedIOException if the event cannot be written
+     */
+    public void recordLogin(Employee employee, LocalDate date, LocalTime loginTime) {
+        await(submit(employee, LOGIN, date, loginTime));
+    }
+
+    /**
+     * Durably records a logout, then applies it to the employee
+     * Blocks until the event is on disk
+     *
+     * @param employee The employee clocking out
+     * @param date The date of the logout
+     * @param logoutTime The time of logout
+     * @throws UncheckedIOException if the event cannot be written
+     */
+    public void recordLogout(Employee employee, LocalDate date, LocalTime logoutTime) {
+        await(submit(employee, LOGOUT, date, logoutTime));
+    }
+
+    /**
+     * Queues a login without waiting for it to reach the disk
+     * The employee is updated once the event is durable
+     *
+     * @param employee The employee clocking in
+     * @param date The date of the login
+     * @param loginTime The time of login
+     * @return Future completed when the event is durable and applied
+     */
+    public CompletableFuture<Void> submitLogin(Employee employee, LocalDate date, LocalTime loginTime) {
+        return submit(employee, LOGIN, date, loginTime);
+    }
+
+    /**
+     * Queues a logout without waiting for it to reach the disk
+     * The employee is updated once the event is durable
+     *
+     * @param employee The employee clocking out
+     * @param date The date of the logout
+     * @param logoutTime The time of logout
+     * @return Future completed when the event is durable and applied
+     */
+    public CompletableFuture<Void> submitLogout(Employee employee, LocalDate date, LocalTime logoutTime) {
+        return submit(employee, LOGOUT, date, logoutTime);
+    }
+
+    private CompletableFuture<Void> submit(Employee employee, byte kind, LocalDate date, LocalTime time) {
+        if (closed) {
+            throw new IllegalStateException("Attendance journal " + filePath + " is closed");
+        }
+        if (employee.getId().getBytes(StandardCharsets.UTF_8).length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Employee ID too long for the journal");
+        }
+        Event event = new Event(employee, kind, (int) date.toEpochDay(), time.getHour() * 60 + time.getMinute());
+        pending.add(event);
+        if (closed && !writer.isAlive() && pending.remove(event)) {
+            event.durable.completeExceptionally(new IllegalStateException("Attendance journal " + filePath + " is closed"));
+        }
+        return event.durable;
+    }
+
+    private static void await(CompletableFuture<Void> durable) {
+        try {
+            durable.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the attendance journal", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw new IllegalStateException("Unable to record attendance event", cause);
+        }
+    }
+
+    /**
+     * Writer thread: takes every waiting event, writes them together and
+     * forces them to disk with a single sync
+     */
+    private void writeLoop() {
+        List<Event> batch = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        while (!closed || !pending.isEmpty()) {
+            try {
+                Event first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, MAX_BATCH - 1);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            Exception failure = null;
+            synchronized (writeLock) {
+                try {
+                    buffer = writeBatch(batch, buffer, crc);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Unable to write attendance journal " + filePath, e);
+                    failure = e;
+                }
+            }
+            // Completed outside the lock, so callbacks may checkpoint the journal
+            for (Event event : batch) {
+                if (failure == null) {
+                    event.durable.complete(null);
+                } else {
+                    event.durable.completeExceptionally(failure);
+                }
+            }
+            if (failure == null) {
+                notifyApplied();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes a batch, forces it to disk and applies it to the employees
+     *
+     * @return The buffer to use for the next batch
+     * @throws IOException if the batch cannot be written
+     */
+    private ByteBuffer writeBatch(List<Event> batch, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.clear();
+        for (Event event : batch) {
+            byte[] id = event.employee.getId().getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < RECORD_OVERHEAD + id.length) {
+                flush(buffer);
+                if (buffer.remaining() < RECORD_OVERHEAD + id.length) {
+                    buffer = ByteBuffer.allocate(RECORD_OVERHEAD + id.length).order(ByteOrder.LITTLE_ENDIAN);
+                }
+            }
+            int start = buffer.position();
+            buffer.put(event.kind);
+            buffer.putShort((short) id.length);
+            buffer.put(id);
+            buffer.putInt(event.epochDay);
+            buffer.putShort((short) event.minute);
+            crc.reset();
+            crc.update(buffer.array(), start, buffer.position() - start);
+            buffer.putInt((int) crc.getValue());
+        }
+        flush(buffer);
+        channel.force(false);
+        for (Event event : batch) {
+            apply(event.employee, event.kind, event.epochDay, event.minute);
+        }
+        return buffer;
+    }
+
+    private void notifyApplied() {
+        if (onApplied != null) {
+            onApplied.run();
+        }
+    }
+
+    private void flush(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Applies a journal event to an employee
+     */
+    private static void apply(Employee employee, byte kind, int epochDay, int minute) {
+        synchronized (employee) {
+            if (kind == LOGIN) {
+                employee.recordAttendance(epochDay, minute, AttendanceCsvLoader.NO_TIME);
+            } else {
+                employee.recordAttendance(epochDay, AttendanceCsvLoader.NO_TIME, minute);
+            }
+        }
+    }
+
+    /**
+     * Re-applies every event in the journal to the given employees, in order
+     * A record cut short or damaged by a crash ends the replay and is removed
+     * from the file, so new events follow the last intact record
+     *
+     * @param employees Employees to update; events for unknown IDs are skipped
+     * @return Number of events applied
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    public synchronized long replay(List<Employee> employees) {
+        return replay(employees, 0);
+    }
+
+    /**
+     * Re-applies the events written from an offset onwards, e.g. those not in a snapshot
+     * If the journal is shorter than the offset it was replaced since, and
+     * all of it is applied. A damaged record ends the replay as in replay(List).
+     *
+     * @param employees Employees to update; events for unknown IDs are skipped
+     * @param from Offset passed to the save of checkpoint(), or 0
+     * @return Number of events applied
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    public synchronized long replay(List<Employee> employees, long from) {
+        try {
+            if (from > channel.size()) {
+                LOGGER.warning("Attendance journal " + filePath + " is shorter than the snapshot expects; replaying all of it");
+                from = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to replay attendance journal " + filePath, e);
+        }
+        return applyRecords(employees, null, from, true);
+    }
+
+    /**
+     * Re-applies the events written from an offset onwards without changing the file
+     * Used when the attendance file is reloaded while the journal is in use:
+     * the events are first applied to the freshly loaded stores, and once
+     * those replace the employees' attendance, the events written meanwhile
+     * are applied to the employees. A record still being written ends the pass.
+     *
+     * @param employees Employees the events belong to; events for unknown IDs are skipped
+     * @param stores Store per employee position to update, or null to update the employees
+     * @param from Offset of the first record to apply, 0 or a value returned earlier
+     * @return Offset just past the last intact record, for the next pass
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    synchronized long reapply(List<Employee> employees, AttendanceStore[] stores, long from) {
+        applyRecords(employees, stores, from, false);
+        return intactEnd;
+    }
+
+    /**
+     * Reads the journal from an offset and applies its intact records
+     *
+     * @param employees Employees the events belong to
+     * @param stores Store per employee position to update, or null to update the employees
+     * @param from Offset of the first record
+     * @param repair Whether to cut off a damaged tail and position the channel after the last record
+     * @return Number of events applied
+     */
+    private long applyRecords(List<Employee> employees, AttendanceStore[] stores, long from, boolean repair) {
+        Map<String, Integer> byId = new HashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            byId.put(employees.get(i).getId(), i);
+        }
+        try {
+            long size = channel.size();
+            if (size - from > Integer.MAX_VALUE) {
+                throw new IOException("Attendance journal " + filePath + " is too large to replay");
+            }
+            ByteBuffer data = ByteBuffer.allocate((int) Math.max(0, size - from)).order(ByteOrder.LITTLE_ENDIAN);
+            while (data.hasRemaining() && channel.read(data, from + data.position()) >= 0) {
+                // Keep reading until the rest of the journal is in memory
+            }
+            data.flip();
+            CRC32C crc = new CRC32C();
+            long applied = 0;
+            int position = 0;
+            while (data.remaining() >= RECORD_OVERHEAD) {
+                int start = data.position();
+                byte kind = data.get();
+                int idLength = data.getShort();
+                if ((kind != LOGIN && kind != LOGOUT) || idLength < 0
+                        || data.remaining() < idLength + RECORD_OVERHEAD - 3) {
+                    break;
+                }
+                byte[] id = new byte[idLength];
+                data.get(id);
+                int epochDay = data.getInt();
+                int minute = data.getShort();
+                crc.reset();
+                ByteBuffer record = data.duplicate();
+                record.position(start).limit(data.position());
+                crc.update(record);
+                if (data.getInt() != (int) crc.getValue()) {
+                    break;
+                }
+                position = data.position();
+                Integer employee = byId.get(new String(id, StandardCharsets.UTF_8));
+                if (employee == null) {
+                    continue;
+                }
+                if (stores == null) {
+                    apply(employees.get(employee), kind, epochDay, minute);
+                } else if (kind == LOGIN) {
+                    stores[employee].record(epochDay, minute, AttendanceStore.NO_TIME);
+                } else {
+                    stores[employee].record(epochDay, AttendanceStore.NO_TIME, minute);
+                }
+                applied++;
+            }
+            intactEnd = from + position;
+            if (stores == null && applied > 0) {
+                notifyApplied();
+            }
+            if (repair) {
+                if (intactEnd < size) {
+                    LOGGER.warning("Discarding " + (size - intactEnd) + " bytes of incomplete journal data in " + filePath);
+                    channel.truncate(intactEnd);
+                    channel.force(true);
+                }
+                channel.position(intactEnd);
+            }
+            return applied;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to replay attendance journal " + filePath, e);
+        }
+    }
+
+    /**
+     * Saves a snapshot that contains every journaled event
+     * The writer is held between batches while the snapshot is saved, so each
+     * event in the file has already been applied to the employees being saved.
+     * The journal is left as it is.
+     *
+     * @param save Saves the snapshot, given the offset just past the last
+     *        event it contains, to be passed to replay on the next start
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    public synchronized void checkpoint(LongConsumer save) {
+        synchronized (writeLock) {
+            long end;
+            try {
+                end = channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read attendance journal " + filePath, e);
+            }
+            save.accept(end);
+        }
+    }
+
+    /**
+     * Writes any queued events, stops the writer thread and closes the file
+     *
+     * @throws IOException if closing the file fails
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,392 @@
+package MyPackage;
+
+import java.util.Arrays;
+
+/**
+ * Columnar store of one employee's daily attendance
+ *
+ * Attendance is kept in three parallel primitive arrays sorted by date:
+ * - epochDay: the date as days since 1970-01-01
+ * - loginMinute: minute of the day of the login, or NO_TIME
+ * - logoutMinute: minute of the day of the logout, or NO_TIME
+ *
+ * A day therefore costs 8 bytes instead of a boxed map entry, a LocalDate,
+ * an AttendanceRecord and two LocalTime objects. Days arriving in date order
+ * are appended in constant time.
+ *
+ * A running total of minutes worked is kept at the start of every block of
+ * BLOCK_DAYS days, so the minutes in any date range take two binary
+ * searches, a subtraction and a scan of less than one block at each end.
+ * The totals add one int per block, well under a byte per day, so a day
+ * still costs about 8 bytes. Changes only invalidate the totals after the
+ * changed day, and the totals are brought up to date on the next query.
+ *
+ * Minutes worked and days present per payroll cutoff are kept as well, in
+ * a CutoffTotals updated by each login or logout change, so the figures
+ * for a whole cutoff never need a scan.
+ *
+ * The store is not thread safe. Queries can update the running totals, so
+ * every call, reads included, is made holding the owning Employee's lock;
+ * a store built off to the side is only shared once it replaces one.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class AttendanceStore {
+    /** Marker for a login or logout that has not been recorded */
+    static final short NO_TIME = -1;
+
+    /** Days per block of the running totals; a power of two */
+    private static final int BLOCK_DAYS = 64;
+    private static final int BLOCK_SHIFT = Integer.numberOfTrailingZeros(BLOCK_DAYS);
+
+    private static final int[] NO_DAYS = new int[0];
+    private static final short[] NO_MINUTES = new short[0];
+
+    /** Dates in ascending order */
+    private int[] epochDay = NO_DAYS;
+    /** Login minute of each date */
+    private short[] loginMinute = NO_MINUTES;
+    /** Logout minute of each date */
+    private short[] logoutMinute = NO_MINUTES;
+    /** Number of dates in use */
+    private int size;
+    /** blockMinutes[b] is the minutes worked on days 0 to b * BLOCK_DAYS - 1; created on first query */
+    private int[] blockMinutes;
+    /** blockMinutes[0] to blockMinutes[blocksValid] are up to date */
+    private int blocksValid;
+    /** Minutes worked and days present per payroll cutoff */
+    private final CutoffTotals cutoffTotals = new CutoffTotals();
+
+    /**
+     * Gets the number of days with attendance
+     *
+     * @return The number of days
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the date of a day
+     *
+     * @param index Position of the day, 0 to size() - 1
+     * @return The date as days since 1970-01-01
+     */
+    int epochDay(int index) {
+        return epochDay[index];
+    }
+
+    /**
+     * Gets the login minute of a day
+     *
+     * @param index Position of the day
+     * @return Minute of the day, or NO_TIME
+     */
+    int loginMinute(int index) {
+        return loginMinute[index];
+    }
+
+    /**
+     * Gets the logout minute of a day
+     *
+     * @param index Position of the day
+     * @return Minute of the day, or NO_TIME
+     */
+    int logoutMinute(int index) {
+        return logoutMinute[index];
+    }
+
+    /**
+     * Gets the minutes worked on a day
+     * Days without both times, or with logout not after login, count as zero
+     *
+     * @param index Position of the day
+     * @return Minutes worked
+     */
+    int minutesWorked(int index) {
+        return minutesBetween(loginMinute[index], logoutMinute[index]);
+    }
+
+    /**
+     * Computes minutes worked from a login and logout minute
+     *
+     * @param login Login minute, or NO_TIME
+     * @param logout Logout minute, or NO_TIME
+     * @return Minutes worked, or zero if either is missing or logout is not after login
+     */
+    static int minutesBetween(int login, int logout) {
+        return login != NO_TIME && logout != NO_TIME && logout > login ? logout - login : 0;
+    }
+
+    /**
+     * Gets the total minutes worked on days in a range of positions
+     *
+     * @param from Position of the first day, inclusive
+     * @param to Position after the last day, exclusive
+     * @return Minutes worked on those days
+     */
+    int minutesWorked(int from, int to) {
+        int fromBlock = from >>> BLOCK_SHIFT;
+        int toBlock = to >>> BLOCK_SHIFT;
+        if (fromBlock == toBlock) {
+            return scanMinutes(from, to);
+        }
+        if (blocksValid < toBlock) {
+            extendBlocks(toBlock);
+        }
+        return blockMinutes[toBlock] - blockMinutes[fromBlock]
+            + scanMinutes(toBlock << BLOCK_SHIFT, to) - scanMinutes(fromBlock << BLOCK_SHIFT, from);
+    }
+
+    /**
+     * Adds up the minutes worked day by day
+     *
+     * @param from Position of the first day, inclusive
+     * @param to Position after the last day, exclusive
+     * @return Minutes worked on those days
+     */
+    private int scanMinutes(int from, int to) {
+        int total = 0;
+        for (int i = from; i < to; i++) {
+            total += minutesWorked(i);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the total minutes worked between two dates
+     *
+     * @param firstDay First date, inclusive, as days since 1970-01-01
+     * @param lastDay Last date, inclusive, as days since 1970-01-01
+     * @return Minutes worked on those dates
+     */
+    int minutesWorkedBetween(int firstDay, int lastDay) {
+        int from = lowerBound(firstDay);
+        int to = lowerBound(lastDay + 1);
+        return from < to ? minutesWorked(from, to) : 0;
+    }
+
+    /**
+     * Gets the minutes worked in a payroll cutoff
+     *
+     * @param cutoff The cutoff number, see EpochDays.cutoffOf
+     * @return Minutes worked in the cutoff
+     */
+    int cutoffMinutes(int cutoff) {
+        return cutoffTotals.minutes(cutoff);
+    }
+
+    /**
+     * Gets the number of days present in a payroll cutoff
+     *
+     * @param cutoff The cutoff number, see EpochDays.cutoffOf
+     * @return Days with a logout after the login
+     */
+    int cutoffDaysPresent(int cutoff) {
+        return cutoffTotals.daysPresent(cutoff);
+    }
+
+    /**
+     * Brings the running totals up to date through block {@code to}
+     *
+     * @param to Last block total needed; its days are all in the store
+     */
+    private void extendBlocks(int to) {
+        if (blockMinutes == null || blockMinutes.length <= to) {
+            int length = (epochDay.length >>> BLOCK_SHIFT) + 1;
+            blockMinutes = blockMinutes == null ? new int[length] : Arrays.copyOf(blockMinutes, length);
+        }
+        int total = blockMinutes[blocksValid];
+        for (int block = blocksValid; block < to; block++) {
+            total += scanMinutes(block << BLOCK_SHIFT, (block + 1) << BLOCK_SHIFT);
+            blockMinutes[block + 1] = total;
+        }
+        blocksValid = to;
+    }
+
+    /**
+     * Marks the running totals after a changed day as out of date
+     *
+     * @param index Position of the changed day
+     */
+    private void invalidateFrom(int index) {
+        int block = index >>> BLOCK_SHIFT;
+        if (blocksValid > block) {
+            blocksValid = block;
+        }
+    }
+
+    /**
+     * Finds the first day on or after the given date
+     *
+     * @param day The date as days since 1970-01-01
+     * @return Position of that day, or size() if every day is earlier
+     */
+    int lowerBound(int day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDay[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the position of a date
+     *
+     * @param day The date as days since 1970-01-01
+     * @return Position of the day, or -1 if there is no attendance that day
+     */
+    int indexOf(int day) {
+        int index = lowerBound(day);
+        return index < size && epochDay[index] == day ? index : -1;
+    }
+
+    /**
+     * Sets the login minute of a date, adding the date if needed
+     *
+     * @param day The date as days since 1970-01-01
+     * @param minute Minute of the day
+     * @return Position of the day
+     */
+    int setLogin(int day, int minute) {
+        int index = slotFor(day);
+        int before = minutesWorked(index);
+        loginMinute[index] = (short) minute;
+        invalidateFrom(index);
+        cutoffTotals.update(day, before, minutesWorked(index));
+        return index;
+    }
+
+    /**
+     * Sets the logout minute of a date, adding the date if needed
+     *
+     * @param day The date as days since 1970-01-01
+     * @param minute Minute of the day
+     * @return Position of the day
+     */
+    int setLogout(int day, int minute) {
+        int index = slotFor(day);
+        int before = minutesWorked(index);
+        logoutMinute[index] = (short) minute;
+        invalidateFrom(index);
+        cutoffTotals.update(day, before, minutesWorked(index));
+        return index;
+    }
+
+    /**
+     * Records a day's login and logout, leaving a missing time unchanged
+     *
+     * @param day The date as days since 1970-01-01
+     * @param login Minute of the day of the login, or NO_TIME
+     * @param logout Minute of the day of the logout, or NO_TIME
+     */
+    void record(int day, int login, int logout) {
+        if (login >= 0) {
+            setLogin(day, login);
+        }
+        if (logout >= 0) {
+            setLogout(day, logout);
+        }
+    }
+
+    /**
+     * Replaces the contents of the store with the given columns
+     * Used when restoring a snapshot; the arrays are taken over, not copied
+     *
+     * @param days Dates in ascending order
+     * @param logins Login minute of each date, or NO_TIME
+     * @param logouts Logout minute of each date, or NO_TIME
+     * @throws IllegalArgumentException if the columns differ in length or dates are not ascending
+     */
+    void restore(int[] days, short[] logins, short[] logouts) {
+        if (logins.length != days.length || logouts.length != days.length) {
+            throw new IllegalArgumentException("Attendance columns differ in length");
+        }
+        for (int i = 1; i < days.length; i++) {
+            if (days[i - 1] >= days[i]) {
+                throw new IllegalArgumentException("Attendance dates are not in ascending order");
+            }
+        }
+        epochDay = days;
+        loginMinute = logins;
+        logoutMinute = logouts;
+        size = days.length;
+        blockMinutes = null;
+        blocksValid = 0;
+        cutoffTotals.clear();
+        for (int i = 0; i < size; i++) {
+            cutoffTotals.update(days[i], 0, minutesWorked(i));
+        }
+    }
+
+    /**
+     * Removes every day from the store
+     */
+    void clear() {
+        epochDay = NO_DAYS;
+        loginMinute = NO_MINUTES;
+        logoutMinute = NO_MINUTES;
+        size = 0;
+        blockMinutes = null;
+        blocksValid = 0;
+        cutoffTotals.clear();
+    }
+
+    /**
+     * Releases unused array capacity, e.g. after a bulk load
+     */
+    void trimToSize() {
+        if (epochDay.length != size) {
+            epochDay = Arrays.copyOf(epochDay, size);
+            loginMinute = Arrays.copyOf(loginMinute, size);
+            logoutMinute = Arrays.copyOf(logoutMinute, size);
+        }
+        int blocks = (size >>> BLOCK_SHIFT) + 1;
+        if (blockMinutes != null && blockMinutes.length != blocks) {
+            blockMinutes = Arrays.copyOf(blockMinutes, blocks);
+        }
+    }
+
+    /**
+     * Finds or inserts the slot for a date, keeping dates sorted
+     *
+     * @param day The date as days since 1970-01-01
+     * @return Position of the day
+     */
+    private int slotFor(int day) {
+        int index;
+        if (size == 0 || epochDay[size - 1] < day) {
+            index = size;
+        } else {
+            index = lowerBound(day);
+            if (index < size && epochDay[index] == day) {
+                return index;
+            }
+        }
+        if (size == epochDay.length) {
+            int capacity = Math.max(8, size + (size >> 1));
+            epochDay = Arrays.copyOf(epochDay, capacity);
+            loginMinute = Arrays.copyOf(loginMinute, capacity);
+            logoutMinute = Arrays.copyOf(logoutMinute, capacity);
+        }
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(epochDay, index, epochDay, index + 1, moved);
+            System.arraycopy(loginMinute, index, loginMinute, index + 1, moved);
+            System.arraycopy(logoutMinute, index, logoutMinute, index + 1, moved);
+        }
+        epochDay[index] = day;
+        loginMinute[index] = NO_TIME;
+        logoutMinute[index] = NO_TIME;
+        size++;
+        invalidateFrom(index);
+        return index;
+    }
+}
@@ -0,0 +1,229 @@
+package MyPackage;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model showing every employee's attendance, one row per day
+ *
+ * Rows are read straight from each employee's AttendanceStore when the
+ * table asks for a cell, so no row or cell objects are kept: the model
+ * holds the employees and one int per employee, the first row of that
+ * employee. A row is found by binary search over those starts, and the
+ * employee of the previous lookup is checked first because a table paints
+ * rows in order. Dates and times are formatted only for the cells being
+ * painted, in the M/d/yyyy and H:mm formats of the attendance file.
+ *
+ * Employees can be added while the table is showing with append(), which
+ * TableLoader calls as chunks arrive. After attendance has been added or
+ * reloaded, refresh() recounts the rows on the event dispatch thread;
+ * refreshLater() schedules it from any thread, e.g. from the PayrollData
+ * attendance listeners. Cells are read while holding the employee's lock,
+ * as every change to attendance does.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class AttendanceTableModel extends AbstractTableModel {
+    /** Column titles */
+    private static final String[] COLUMNS = {"Employee Number", "Employee Name", "Date", "Log-In", "Log-Out"};
+
+    /** Employees in display order; the first count are in use */
+    private Employee[] employees;
+    /** Number of employees shown */
+    private int count;
+    /** First row of each employee, with the row count at index count */
+    private int[] rowStart;
+    /** Employee found by the previous lookup */
+    private int lastEmployee;
+    /** Set while a refresh scheduled by refreshLater() has not run yet */
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    /**
+     * Creates an empty model, to be filled with append()
+     */
+    public AttendanceTableModel() {
+        this(List.of());
+    }
+
+    /**
+     * Creates a model over the given employees
+     *
+     * @param employees Employees to show, in display order
+     */
+    public AttendanceTableModel(List<Employee> employees) {
+        this.employees = employees.toArray(new Employee[0]);
+        this.count = this.employees.length;
+        this.rowStart = new int[count + 1];
+        countRows(0);
+    }
+
+    /**
+     * Adds employees after the current rows
+     *
+     * @param added Employees to add, in display order
+     */
+    public void append(List<Employee> added) {
+        int first = count;
+        int firstRow = getRowCount();
+        if (count + added.size() > employees.length) {
+            int capacity = Math.max(count + added.size(), employees.length * 2);
+            employees = Arrays.copyOf(employees, capacity);
+            rowStart = Arrays.copyOf(rowStart, capacity + 1);
+        }
+        for (Employee employee : added) {
+            employees[count++] = employee;
+        }
+        countRows(first);
+        if (getRowCount() > firstRow) {
+            fireTableRowsInserted(firstRow, getRowCount() - 1);
+        }
+    }
+
+    /**
+     * Removes every employee, e.g. before loading again
+     */
+    public void clear() {
+        Arrays.fill(employees, 0, count, null);
+        count = 0;
+        lastEmployee = 0;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Recounts the rows after attendance changed and repaints the table
+     */
+    public void refresh() {
+        countRows(0);
+        lastEmployee = 0;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Schedules refresh() on the event dispatch thread; may be called from any thread
+     * Calls made before the scheduled refresh runs share it, so a burst of
+     * clock events recounts the rows once
+     */
+    public void refreshLater() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                refreshScheduled.set(false);
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * Gets the employee a row belongs to
+     *
+     * @param row The row, in model order
+     * @return The employee
+     */
+    public Employee getEmployee(int row) {
+        return employees[employeeAt(row)];
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowStart[count];
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int index = employeeAt(row);
+        Employee employee = employees[index];
+        int day = row - rowStart[index];
+        synchronized (employee) {
+            AttendanceStore attendance = employee.attendance();
+            if (day >= attendance.size()) {
+                // Attendance shrank since the last refresh
+                return null;
+            }
+            switch (column) {
+                case 0:
+                    return employee.getId();
+                case 1:
+                    return employee.getName();
+                case 2:
+                    return formatDate(attendance.epochDay(day));
+                case 3:
+                    return formatTime(attendance.loginMinute(day));
+                default:
+                    return formatTime(attendance.logoutMinute(day));
+            }
+        }
+    }
+
+    /**
+     * Finds the employee a row belongs to
+     *
+     * @param row The row
+     * @return Position of the employee
+     */
+    private int employeeAt(int row) {
+        int index = lastEmployee;
+        if (row >= rowStart[index] && row < rowStart[index + 1]) {
+            return index;
+        }
+        // Last employee whose first row is at or before the row
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (rowStart[middle] <= row) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        lastEmployee = low;
+        return low;
+    }
+
+    /**
+     * Recomputes the row starts of the employees from a position onwards
+     *
+     * @param from Position of the first employee to recount
+     */
+    private void countRows(int from) {
+        for (int i = from; i < count; i++) {
+            int days;
+            synchronized (employees[i]) {
+                days = employees[i].attendance().size();
+            }
+            rowStart[i + 1] = Math.addExact(rowStart[i], days);
+        }
+    }
+
+    private static String formatDate(int epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return date.getMonthValue() + "/" + date.getDayOfMonth() + "/" + date.getYear();
+    }
+
+    private static String formatTime(int minute) {
+        if (minute == AttendanceStore.NO_TIME) {
+            return "";
+        }
+        int minutes = minute % 60;
+        return (minute / 60) + (minutes < 10 ? ":0" : ":") + minutes;
+    }
+}
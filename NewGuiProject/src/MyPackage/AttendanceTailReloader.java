@@ -0,0 +1,277 @@
+package MyPackage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps employees up to date with rows appended to the attendance CSV
+ *
+ * Time clocks append to the attendance file during the day. Instead of
+ * reloading the whole file, this class:
+ * - Starts from the AttendanceFileMark of the rows the employees were
+ *   loaded with, and keeps it past the last complete row it has applied
+ * - Watches the file's directory with a WatchService and, on a change and
+ *   once when it starts, parses only the bytes after the mark and applies
+ *   the new rows through Employee.recordLogin and recordLogout, so rows
+ *   appended between the load and the start are not skipped
+ * - Falls back to a full load when the file no longer matches the mark,
+ *   i.e. it was truncated or rewritten
+ *
+ * A full load fills fresh attendance stores off to the side, applies the
+ * journaled clock events to them, and only then swaps each store in under
+ * its employee's lock, so payroll and the views keep reading the old
+ * attendance until the new one is complete.
+ *
+ * A row that is still being written (no newline yet) is left for the next
+ * change.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public class AttendanceTailReloader implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(AttendanceTailReloader.class.getName());
+
+    /** Path of the attendance file */
+    private final Path file;
+    /** Employees that receive the rows */
+    private final List<Employee> employees;
+    /** Index from employee number to employee */
+    private final EmployeeIndex index;
+    /** Gives the journal whose events are applied again after a full load; may be null */
+    private final Supplier<AttendanceJournal> journal;
+    /** Run after rows have been applied or the file was loaded again; may be null */
+    private final Runnable onChange;
+    /** Rows applied so far */
+    private AttendanceFileMark mark;
+    /** Number of full loads, for monitoring */
+    private long fullLoads;
+    /** Directory watcher; null until start() */
+    private WatchService watcher;
+    /** Thread waiting for changes; null until start() */
+    private Thread watchThread;
+
+    /**
+     * Constructs a reloader for employees already loaded from the given file
+     *
+     * @param filePath Path of the attendance CSV file
+     * @param employees Employees loaded from that file
+     * @param applied Rows of the file the employees hold, e.g. SnapshotStorage.getAttendanceMark()
+     * @param journal Gives the journal to apply again after every full load; null or returning null for none
+     * @param onChange Run on the reloading thread after attendance changed, e.g. to refresh views; may be null
+     */
+    public AttendanceTailReloader(String filePath, List<Employee> employees, AttendanceFileMark applied,
+                                  Supplier<AttendanceJournal> journal, Runnable onChange) {
+        this.file = Paths.get(filePath);
+        this.employees = employees;
+        this.index = new EmployeeIndex(employees);
+        this.mark = applied;
+        this.journal = journal;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Gets the offset just past the last row applied
+     *
+     * @return The byte offset
+     */
+    public synchronized long getOffset() {
+        return mark.getOffset();
+    }
+
+    /**
+     * Gets the rows applied so far, to save with the employees
+     *
+     * @return The mark after the last row applied
+     */
+    public synchronized AttendanceFileMark getMark() {
+        return mark;
+    }
+
+    /**
+     * Gets how many times the whole file had to be loaded again
+     *
+     * @return The number of full loads
+     */
+    public synchronized long getFullLoads() {
+        return fullLoads;
+    }
+
+    /**
+     * Applies rows added to the file since the last call
+     * Does a full load instead if the file was truncated or rewritten
+     *
+     * @return Number of rows applied
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a new row is malformed
+     */
+    public synchronized long refresh() {
+        long loads = fullLoads;
+        long applied = applyChanges();
+        if ((applied > 0 || fullLoads != loads) && onChange != null) {
+            onChange.run();
+        }
+        return applied;
+    }
+
+    /**
+     * Applies the new rows, or loads the whole file again
+     *
+     * @return Number of rows applied
+     */
+    private long applyChanges() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (!mark.matches(channel)) {
+                return fullLoad(channel);
+            }
+            long[] applied = new long[1];
+            mark = AttendanceCsvLoader.scanAfter(channel, mark, (number, day, login, logout) -> {
+                Employee employee = index.get(number);
+                if (employee != null) {
+                    apply(employee, day, login, logout);
+                    applied[0]++;
+                }
+            });
+            return applied[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read attendance file " + file, e);
+        }
+    }
+
+    /**
+     * Starts watching the file's directory and refreshing on every change
+     *
+     * @throws UncheckedIOException if the directory cannot be watched
+     */
+    public synchronized void start() {
+        if (watcher != null) {
+            return;
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to watch " + directory, e);
+        }
+        WatchService service = watcher;
+        watchThread = new Thread(() -> watch(service), "attendance-reloader");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * Stops watching the file
+     *
+     * @throws IOException if the watcher cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    /**
+     * Watch thread: catches up with rows appended since the mark, then
+     * refreshes whenever an event names the attendance file
+     */
+    private void watch(WatchService service) {
+        Path name = file.getFileName();
+        refreshLogged();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    refreshLogged();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed; stop watching
+        }
+    }
+
+    private void refreshLogged() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Unable to refresh attendance from " + file, e);
+        }
+    }
+
+    /**
+     * Loads the whole file again into fresh stores and swaps them in
+     */
+    private long fullLoad(FileChannel channel) throws IOException {
+        LOGGER.info("Attendance file " + file + " was truncated or rewritten; loading it again");
+        // Marked before loading, so rows appended meanwhile are applied by the next refresh
+        AttendanceFileMark loadedTo = AttendanceFileMark.at(channel, 0, channel.size());
+        AttendanceStore[] loaded = new AttendanceStore[employees.size()];
+        for (int i = 0; i < loaded.length; i++) {
+            loaded[i] = new AttendanceStore();
+        }
+        long applied = new AttendanceCsvLoader(file.toString()).loadInto(employees, loaded);
+        AttendanceJournal current = journal == null ? null : journal.get();
+        if (current == null) {
+            swapIn(loaded);
+        } else {
+            // Every journaled event is applied over the freshly loaded file, as after a CSV import;
+            // holding the journal keeps a replay or checkpoint out between the passes
+            synchronized (current) {
+                long replayed = current.reapply(employees, loaded, 0);
+                swapIn(loaded);
+                // Events written after the first pass may have reached the old stores
+                current.reapply(employees, null, replayed);
+            }
+        }
+        // Rows beyond the mark may already be applied; applying them again is harmless
+        mark = loadedTo;
+        fullLoads++;
+        return applied;
+    }
+
+    private void swapIn(AttendanceStore[] loaded) {
+        for (int i = 0; i < loaded.length; i++) {
+            employees.get(i).replaceAttendance(loaded[i]);
+        }
+    }
+
+    /**
+     * Applies one row through the employee's clock methods
+     */
+    private static void apply(Employee employee, int epochDay, int login, int logout) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        synchronized (employee) {
+            if (login != AttendanceCsvLoader.NO_TIME) {
+                employee.recordLogin(date, LocalTime.of(login / 60, login % 60));
+            }
+            if (logout != AttendanceCsvLoader.NO_TIME) {
+                employee.recordLogout(date, LocalTime.of(logout / 60, logout % 60));
+            }
+        }
+    }
+}
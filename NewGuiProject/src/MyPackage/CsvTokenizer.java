@@ -0,0 +1,345 @@
+package MyPackage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streaming, quote-aware CSV tokenizer
+ *
+ * This class reads one record at a time from a character stream:
+ * - Handles quoted fields containing commas, doubled quotes and line breaks
+ * - Keeps the current record in reusable buffers instead of a String[] per line
+ * - Parses grouped numbers such as "90,000" directly from the buffered characters
+ *
+ * Only the current record is held in memory, so files of any length can be
+ * read in bounded space.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class CsvTokenizer implements Closeable {
+    /** Size of the read-ahead buffer */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Largest mantissa that can take another decimal digit without overflow */
+    private static final long MAX_MANTISSA = (Long.MAX_VALUE - 9) / 10;
+    /** Exact powers of ten usable for correctly rounded division */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Source of characters */
+    private final Reader in;
+    /** Read-ahead buffer */
+    private final char[] buffer = new char[BUFFER_SIZE];
+    /** Next unread position in the buffer */
+    private int position;
+    /** Number of valid characters in the buffer */
+    private int limit;
+
+    /** Characters of all fields of the current record */
+    private char[] chars = new char[512];
+    /** Number of characters used in {@link #chars} */
+    private int length;
+    /** Start offset of each field in {@link #chars} */
+    private int[] starts = new int[32];
+    /** End offset (exclusive) of each field in {@link #chars} */
+    private int[] ends = new int[32];
+    /** Number of fields in the current record */
+    private int count;
+    /** Line number on which the current record starts */
+    private long lineNumber;
+    /** Line number of the next unread character */
+    private long nextLine = 1;
+
+    /**
+     * Creates a tokenizer over the given reader
+     *
+     * @param in The character stream to tokenize
+     */
+    CsvTokenizer(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Advances to the next record, skipping blank lines
+     *
+     * @return true if a record was read, false at end of input
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    boolean next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return false;
+            }
+            if (c == '\uFEFF' && nextLine == 1) {
+                c = read();
+            }
+            if (c == '\n' || c == '\r') {
+                if (c == '\n') {
+                    nextLine++;
+                }
+                continue;
+            }
+            readRecord(c);
+            return true;
+        }
+    }
+
+    /**
+     * Reads the rest of a record whose first character has been consumed
+     *
+     * @param c The first character of the record
+     * @throws IOException if reading fails
+     */
+    private void readRecord(int c) throws IOException {
+        count = 0;
+        length = 0;
+        lineNumber = nextLine;
+        startField();
+        boolean quoted = false;
+        while (true) {
+            if (c == -1) {
+                if (quoted) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + lineNumber);
+                }
+                endField();
+                return;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    c = read();
+                    if (c == '"') {
+                        append('"');
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        nextLine++;
+                    }
+                    append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                endField();
+                startField();
+            } else if (c == '\n') {
+                nextLine++;
+                endField();
+                return;
+            } else if (c != '\r') {
+                append((char) c);
+                copyPlainRun();
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Copies the run of ordinary characters at the read position straight
+     * from the read-ahead buffer, so most characters skip the per-character loop
+     */
+    private void copyPlainRun() {
+        int start = position;
+        int i = start;
+        while (i < limit) {
+            char ch = buffer[i];
+            if (ch == ',' || ch == '"' || ch == '\n' || ch == '\r') {
+                break;
+            }
+            i++;
+        }
+        int run = i - start;
+        if (run > 0) {
+            if (length + run > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + run));
+            }
+            System.arraycopy(buffer, start, chars, length, run);
+            length += run;
+            position = i;
+        }
+    }
+
+    /**
+     * Gets the number of fields in the current record
+     *
+     * @return The field count
+     */
+    int fieldCount() {
+        return count;
+    }
+
+    /**
+     * Gets the line number on which the current record starts
+     *
+     * @return The 1-based line number
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Gets a field of the current record as a String
+     *
+     * @param index The 0-based field index
+     * @return The unquoted field value
+     */
+    String field(int index) {
+        checkIndex(index);
+        return new String(chars, starts[index], ends[index] - starts[index]);
+    }
+
+    /**
+     * Gets the dictionary code of a field of the current record
+     * No String is created when the value is already in the dictionary
+     *
+     * @param index The 0-based field index
+     * @param dictionary Dictionary of the column
+     * @return The code of the unquoted field value
+     */
+    int code(int index, StringDictionary dictionary) {
+        checkIndex(index);
+        return dictionary.encode(chars, starts[index], ends[index]);
+    }
+
+    /**
+     * Checks whether a field of the current record is empty
+     *
+     * @param index The 0-based field index
+     * @return true if the field has no characters
+     */
+    boolean isEmpty(int index) {
+        checkIndex(index);
+        return starts[index] == ends[index];
+    }
+
+    /**
+     * Parses a field of the current record as a number
+     * Accepts an optional sign, grouping commas and a decimal point,
+     * e.g. "90,000" or "535.71", without creating an intermediate String
+     *
+     * @param index The 0-based field index
+     * @return The parsed value
+     * @throws IllegalArgumentException if the field is not a plain number
+     */
+    double number(int index) {
+        checkIndex(index);
+        int i = starts[index];
+        int end = ends[index];
+        while (i < end && chars[i] == ' ') {
+            i++;
+        }
+        while (end > i && chars[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        boolean fraction = false;
+        boolean anyDigit = false;
+        for (; i < end; i++) {
+            char ch = chars[i];
+            if (ch >= '0' && ch <= '9') {
+                if (mantissa > MAX_MANTISSA) {
+                    return fallbackNumber(index);
+                }
+                mantissa = mantissa * 10 + (ch - '0');
+                anyDigit = true;
+                if (fraction) {
+                    scale++;
+                }
+            } else if (ch == ',' && !fraction) {
+                // Grouping separator, e.g. "90,000"
+            } else if (ch == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return fallbackNumber(index);
+            }
+        }
+        if (!anyDigit) {
+            throw new IllegalArgumentException("Invalid number on line " + lineNumber + ": \"" + field(index) + "\"");
+        }
+        // Both operands are exact doubles, so the quotient is correctly rounded
+        // and matches Double.parseDouble for the same text
+        if (mantissa >= (1L << 53) || scale >= POWERS_OF_TEN.length) {
+            return fallbackNumber(index);
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a field that the fast path could not handle
+     *
+     * @param index The 0-based field index
+     * @return The parsed value
+     */
+    private double fallbackNumber(int index) {
+        String text = field(index);
+        try {
+            return Double.parseDouble(text.replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number on line " + lineNumber + ": \"" + text + "\"");
+        }
+    }
+
+    /**
+     * Closes the underlying reader
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Missing field " + (index + 1) + " on line " + lineNumber
+                + ": expected at least " + (index + 1) + " fields, got " + count);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void append(char c) {
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+        }
+        chars[length++] = c;
+    }
+
+    private void startField() {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = length;
+    }
+
+    private void endField() {
+        ends[count++] = length;
+    }
+}
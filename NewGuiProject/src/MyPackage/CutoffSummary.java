@@ -0,0 +1,98 @@
+package MyPackage;
+
+import java.time.LocalDate;
+
+/**
+ * One employee's attendance figures for a semi-monthly payroll cutoff
+ *
+ * Returned by Employee.getCutoffSummary from totals that are kept up to
+ * date as logins and logouts are recorded, so creating a summary does not
+ * scan the attendance. A summary is a snapshot and does not change when
+ * more attendance is recorded.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class CutoffSummary {
+    /** First day of the cutoff */
+    private final LocalDate startDate;
+    /** Last day of the cutoff */
+    private final LocalDate endDate;
+    /** Minutes between login and logout over the cutoff */
+    private final int minutesWorked;
+    /** Days with a logout after the login */
+    private final int daysPresent;
+    /** Minutes worked times the hourly rate, in centavos */
+    private final long basePay;
+
+    CutoffSummary(LocalDate startDate, LocalDate endDate, int minutesWorked, int daysPresent, long basePay) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.minutesWorked = minutesWorked;
+        this.daysPresent = daysPresent;
+        this.basePay = basePay;
+    }
+
+    /**
+     * Gets the first day of the cutoff, the 1st or the 16th
+     *
+     * @return Start date
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the last day of the cutoff, the 15th or the end of the month
+     *
+     * @return End date
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the minutes worked in the cutoff
+     *
+     * @return Minutes worked
+     */
+    public int getMinutesWorked() {
+        return minutesWorked;
+    }
+
+    /**
+     * Gets the hours worked in the cutoff
+     *
+     * @return Hours worked
+     */
+    public double getHoursWorked() {
+        return minutesWorked / 60.0;
+    }
+
+    /**
+     * Gets the number of days the employee clocked in and out
+     *
+     * @return Days present
+     */
+    public int getDaysPresent() {
+        return daysPresent;
+    }
+
+    /**
+     * Gets the pay for the hours worked, before deductions
+     *
+     * @return Base pay
+     */
+    public double getBasePay() {
+        return Money.toPesos(basePay);
+    }
+
+    /**
+     * Gets the pay for the hours worked in centavos
+     *
+     * @return Base pay in centavos
+     */
+    public long getBasePayCentavos() {
+        return basePay;
+    }
+}
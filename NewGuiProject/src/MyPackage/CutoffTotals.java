@@ -0,0 +1,111 @@
+package MyPackage;
+
+import java.util.Arrays;
+
+/**
+ * Running totals of one employee's attendance per payroll cutoff
+ *
+ * For every semi-monthly cutoff (see EpochDays.cutoffOf) the totals hold
+ * the minutes worked and the number of days present, meaning days with a
+ * logout after the login. AttendanceStore updates them whenever a login or
+ * logout changes, by the difference that one day makes, so reading the
+ * figures for a cutoff is an array lookup however the attendance was
+ * edited.
+ *
+ * Cutoffs are held in two parallel arrays covering the range from the
+ * earliest to the latest cutoff seen, which is a few hundred entries for
+ * decades of attendance.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class CutoffTotals {
+    private static final int[] NONE = new int[0];
+
+    /** Cutoff number held at position 0 */
+    private int firstCutoff;
+    /** Minutes worked in each cutoff */
+    private int[] minutes = NONE;
+    /** Days present in each cutoff */
+    private int[] daysPresent = NONE;
+
+    /**
+     * Applies the change in one day's minutes worked
+     *
+     * @param epochDay The day that changed, as days since 1970-01-01
+     * @param before Minutes worked on the day before the change
+     * @param after Minutes worked on the day after the change
+     */
+    void update(int epochDay, int before, int after) {
+        if (before == after) {
+            return;
+        }
+        int slot = slotFor(EpochDays.cutoffOf(epochDay));
+        minutes[slot] += after - before;
+        daysPresent[slot] += (after > 0 ? 1 : 0) - (before > 0 ? 1 : 0);
+    }
+
+    /**
+     * Gets the minutes worked in a cutoff
+     *
+     * @param cutoff The cutoff number
+     * @return Minutes worked, or 0 if nothing was recorded
+     */
+    int minutes(int cutoff) {
+        int slot = cutoff - firstCutoff;
+        return slot >= 0 && slot < minutes.length ? minutes[slot] : 0;
+    }
+
+    /**
+     * Gets the number of days present in a cutoff
+     *
+     * @param cutoff The cutoff number
+     * @return Days with a logout after the login
+     */
+    int daysPresent(int cutoff) {
+        int slot = cutoff - firstCutoff;
+        return slot >= 0 && slot < daysPresent.length ? daysPresent[slot] : 0;
+    }
+
+    /**
+     * Removes every total
+     */
+    void clear() {
+        firstCutoff = 0;
+        minutes = NONE;
+        daysPresent = NONE;
+    }
+
+    /**
+     * Finds the position of a cutoff, widening the arrays to cover it
+     *
+     * @param cutoff The cutoff number
+     * @return Position of the cutoff in the arrays
+     */
+    private int slotFor(int cutoff) {
+        if (minutes.length == 0) {
+            firstCutoff = cutoff;
+            minutes = new int[4];
+            daysPresent = new int[4];
+            return 0;
+        }
+        int slot = cutoff - firstCutoff;
+        if (slot < 0) {
+            // Leave some room before the new first cutoff for earlier dates
+            int shift = Math.max(-slot, 4);
+            int[] wider = new int[minutes.length + shift];
+            System.arraycopy(minutes, 0, wider, shift, minutes.length);
+            minutes = wider;
+            wider = new int[daysPresent.length + shift];
+            System.arraycopy(daysPresent, 0, wider, shift, daysPresent.length);
+            daysPresent = wider;
+            firstCutoff -= shift;
+            slot += shift;
+        } else if (slot >= minutes.length) {
+            int capacity = Math.max(slot + 1, minutes.length + (minutes.length >> 1));
+            minutes = Arrays.copyOf(minutes, capacity);
+            daysPresent = Arrays.copyOf(daysPresent, capacity);
+        }
+        return slot;
+    }
+}
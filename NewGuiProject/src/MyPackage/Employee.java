@@ -1,16 +1,16 @@
+package MyPackage;
+
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import java.time.format.DateTimeParseException;
-import java.util.List;
-import java.util.ArrayList;
 
 /**
  * Employee class represents an employee in the MotorPH Payroll System.
  * 
- * This class extends Person and implements Payable interface to handle:
+ * This class extends Person and implements Payable and PaymentCalculator to handle:
  * - Employee personal and professional information
  * - Payroll calculations including salary and deductions
  * - Time tracking and attendance records
@@ -19,14 +19,39 @@ import java.util.ArrayList;
  * @author MotorPH Development Team
  * @version 1.0
  */
-public class Employee extends Person implements Payable {
+public class Employee extends Person implements Payable, PaymentCalculator {
+    // 2023 contribution rates and tax bands; amounts in centavos, rates in basis points
+    /** PhilHealth rate, 4% */
+    static final long PHILHEALTH_RATE = 400;
+    /** Pag-IBIG rate, 2% */
+    static final long PAG_IBIG_RATE = 200;
+    /** Pag-IBIG cap, 100 pesos */
+    static final long PAG_IBIG_CAP = 100_00;
+    /** Lower bound of each tax band: 20,833 / 33,333 / 66,667 / 166,667 / 666,667 */
+    static final long[] TAX_THRESHOLDS = {20_833_00, 33_333_00, 66_667_00, 166_667_00, 666_667_00};
+    /** Rate on the income above each lower bound: 20% / 25% / 30% / 32% / 35% */
+    static final long[] TAX_RATES = {2000, 2500, 3000, 3200, 3500};
+    /** Tax owed at each lower bound: 0 / 2,500 / 10,833.33 / 40,833.33 / 200,833.33 */
+    static final long[] TAX_BASES = {0, 2_500_00, 10_833_33, 40_833_33, 200_833_33};
+
+    // Shared dictionaries for low-cardinality text fields
+    /** Distinct job positions */
+    static final StringDictionary POSITIONS = new StringDictionary();
+    /** Distinct supervisor names */
+    static final StringDictionary SUPERVISORS = new StringDictionary();
+    /** Distinct employment statuses */
+    static final StringDictionary STATUSES = new StringDictionary();
+
+    /** Codec used by toCSV and fromCSV; one per thread, since a codec keeps its buffers */
+    private static final ThreadLocal<EmployeeCsvCodec> CODECS = ThreadLocal.withInitial(EmployeeCsvCodec::new);
+
     // Personal Information
     /** Unique employee identifier */
     private final String employeeId;
-    /** Employee's job position */
-    private final String position;
-    /** Employee's immediate supervisor */
-    private final String supervisor;
+    /** Employee's job position, as a code in POSITIONS */
+    private final int positionCode;
+    /** Employee's immediate supervisor, as a code in SUPERVISORS */
+    private final int supervisorCode;
     /** Employee's department */
     private String department;
     /** Employee's birthday */
@@ -35,8 +60,8 @@ public class Employee extends Person implements Payable {
     private String address;
     /** Employee's phone number */
     private String phoneNumber;
-    /** Employee's employment status */
-    private String status;
+    /** Employee's employment status, as a code in STATUSES */
+    private int statusCode = StringDictionary.NULL_CODE;
 
     // Government IDs
     /** Social Security System number */
@@ -51,6 +76,8 @@ public class Employee extends Person implements Payable {
     // Payroll Information
     /** Hourly rate for salary computation */
     private final double hourlyRate;
+    /** Hourly rate in centavos, used for exact pay computation */
+    private final long hourlyRateCentavos;
     /** Basic monthly salary */
     private double basicSalary;
     /** Rice subsidy amount */
@@ -61,12 +88,12 @@ public class Employee extends Person implements Payable {
     private double clothingAllowance;
     /** Gross semi-monthly rate */
     private double grossSemiMonthlyRate;
-    /** Record of hours worked by date */
-    private final Map<LocalDate, Double> hoursWorked;
+    /** Hours added through addHoursWorked, by date; created on first use */
+    private HoursLedger addedHours;
     
     // Attendance Records
-    /** Stores daily attendance records with login and logout times */
-    private final Map<LocalDate, AttendanceRecord> attendanceRecords;
+    /** Stores daily login and logout times in date order; replaced only under this employee's lock */
+    private AttendanceStore attendance;
 
     /**
      * Constructs a new Employee with the specified details.
@@ -86,15 +113,15 @@ public class Employee extends Person implements Payable {
                    String sssNumber, String philHealthNumber, String pagIbigNumber, String tin, double hourlyRate) {
         super(firstName, lastName);
         this.employeeId = id;
-        this.position = position;
-        this.supervisor = supervisor;
+        this.positionCode = POSITIONS.encode(position);
+        this.supervisorCode = SUPERVISORS.encode(supervisor);
         this.sssNumber = sssNumber;
         this.philHealthNumber = philHealthNumber;
         this.pagIbigNumber = pagIbigNumber;
         this.tin = tin;
         this.hourlyRate = hourlyRate;
-        this.hoursWorked = new HashMap<>();
-        this.attendanceRecords = new HashMap<>();
+        this.hourlyRateCentavos = Money.ofPesos(hourlyRate);
+        this.attendance = new AttendanceStore();
         
         // Initialize compensation components with default values
         this.basicSalary = hourlyRate * 160; // Assuming 160 hours per month
@@ -120,7 +147,7 @@ public class Employee extends Person implements Payable {
      * @return The job position
      */
     public String getPosition() {
-        return position;
+        return POSITIONS.decode(positionCode);
     }
 
     /**
@@ -129,7 +156,7 @@ public class Employee extends Person implements Payable {
      * @return The supervisor's name
      */
     public String getSupervisor() {
-        return supervisor;
+        return SUPERVISORS.decode(supervisorCode);
     }
 
     /**
@@ -152,11 +179,24 @@ public class Employee extends Person implements Payable {
 
     /**
      * Gets a copy of the employee's hours worked records
+     * Combines hours from login and logout times with hours added by hand
      * 
      * @return Map of dates to hours worked
      */
-    public Map<LocalDate, Double> getHoursWorked() {
-        return new HashMap<>(hoursWorked);
+    public synchronized Map<LocalDate, Double> getHoursWorked() {
+        Map<LocalDate, Double> hoursWorked = new HashMap<>();
+        for (int i = 0; i < attendance.size(); i++) {
+            int minutes = attendance.minutesWorked(i);
+            if (minutes > 0) {
+                hoursWorked.put(LocalDate.ofEpochDay(attendance.epochDay(i)), roundHours(minutes));
+            }
+        }
+        if (addedHours != null) {
+            for (int i = 0; i < addedHours.size(); i++) {
+                hoursWorked.merge(LocalDate.ofEpochDay(addedHours.epochDay(i)), addedHours.hours(i), Double::sum);
+            }
+        }
+        return hoursWorked;
     }
 
     /**
@@ -176,7 +216,20 @@ public class Employee extends Person implements Payable {
      * @param hours Number of hours worked
      */
     public void addHoursWorked(LocalDate date, double hours) {
-        hoursWorked.put(date, hoursWorked.getOrDefault(date, 0.0) + hours);
+        addHoursWorked((int) date.toEpochDay(), hours);
+    }
+
+    /**
+     * Records worked hours for a date given as days since 1970-01-01
+     * 
+     * @param epochDay The date of work
+     * @param hours Number of hours worked
+     */
+    synchronized void addHoursWorked(int epochDay, double hours) {
+        if (addedHours == null) {
+            addedHours = new HoursLedger();
+        }
+        addedHours.add(epochDay, hours);
     }
 
     /**
@@ -188,106 +241,182 @@ public class Employee extends Person implements Payable {
      * @return Total pay for the period
      */
     public double calculatePay(LocalDate startDate, LocalDate endDate) {
+        return Money.toPesos(calculatePayCentavos(startDate, endDate));
+    }
+
+    /**
+     * Calculates total pay in centavos based on hours worked and hourly rate
+     * Pay is minutes worked times the hourly rate over 60, rounded half up
+     * to the centavo once for the whole period
+     * 
+     * @param startDate Start date of the period
+     * @param endDate End date of the period
+     * @return Total pay for the period in centavos
+     */
+    public long calculatePayCentavos(LocalDate startDate, LocalDate endDate) {
+        return Money.scale(hourlyRateCentavos, payableMinutes(startDate, endDate), 60, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Gets the minutes paid for a period: the minutes worked, or an
+     * estimate when there is no attendance in the period
+     * Shared by calculatePayCentavos and the scenario simulator
+     * Holds this employee's lock, as every access to the attendance does,
+     * because the query may bring the store's running totals up to date
+     * 
+     * @param startDate Start date of the period
+     * @param endDate End date of the period
+     * @return Minutes to pay at the hourly rate
+     */
+    synchronized long payableMinutes(LocalDate startDate, LocalDate endDate) {
         
         // Check if we have attendance records
-        if (attendanceRecords.isEmpty()) {
-            return calculatePayWithoutAttendance(startDate, endDate);
+        if (attendance.size() == 0) {
+            return estimateMinutesWithoutAttendance(startDate, endDate);
         }
         
-        // Filter attendance records for the specified period and sort by date
-        List<Map.Entry<LocalDate, AttendanceRecord>> periodRecords = attendanceRecords.entrySet().stream()
-            .filter(entry -> !entry.getKey().isBefore(startDate) && !entry.getKey().isAfter(endDate))
-            .sorted(Map.Entry.comparingByKey())
-            .collect(java.util.stream.Collectors.toList());
-        
-        if (periodRecords.isEmpty()) {
-            return calculatePayWithoutAttendance(startDate, endDate);
+        // A period that is exactly one cutoff is read from the cutoff totals
+        int startDay = (int) startDate.toEpochDay();
+        int cutoff = EpochDays.cutoffOf(startDay);
+        if (startDay == EpochDays.cutoffStart(cutoff) && endDate.toEpochDay() == EpochDays.cutoffEnd(cutoff)
+                && attendance.cutoffDaysPresent(cutoff) > 0) {
+            return attendance.cutoffMinutes(cutoff);
         }
         
-        // Calculate total hours worked and pay for each day
-        double totalHoursWorked = 0.0;
-        double totalBasePay = 0.0;
+        // Days are stored in date order, so the period is a contiguous range
+        int first = attendance.lowerBound((int) startDate.toEpochDay());
+        int last = attendance.lowerBound((int) endDate.toEpochDay() + 1);
         
-        for (Map.Entry<LocalDate, AttendanceRecord> entry : periodRecords) {
-            LocalDate date = entry.getKey();
-            AttendanceRecord record = entry.getValue();
-            double hoursForDay = record.getHoursWorked();
-            
-            if (hoursForDay > 0) {
-                double payForDay = hoursForDay * hourlyRate;
-                totalHoursWorked += hoursForDay;
-                totalBasePay += payForDay;
-            }
+        if (first >= last) {
+            return estimateMinutesWithoutAttendance(startDate, endDate);
         }
         
-        
-        // Add allowances if employee was present at least one day
-        double totalPay = totalBasePay;
-        if (totalHoursWorked > 0) {
-            // Add allowances (these will be prorated in the Payroll class
+        // Total minutes come from the running totals kept by the attendance store
+        return attendance.minutesWorked(first, last);
+    }
+    
+    /**
+     * Gets the attendance figures for the payroll cutoff containing a date
+     * Cutoffs run from the 1st to the 15th and from the 16th to the end of
+     * the month. The figures are kept up to date as logins and logouts are
+     * recorded, so this is a lookup rather than a pass over the attendance.
+     * Unlike calculatePay, there is no estimate for a cutoff without attendance.
+     * 
+     * @param date Any day in the cutoff
+     * @return Hours worked, base pay and days present in the cutoff
+     */
+    public CutoffSummary getCutoffSummary(LocalDate date) {
+        int cutoff = EpochDays.cutoffOf((int) date.toEpochDay());
+        int minutes;
+        int daysPresent;
+        synchronized (this) {
+            minutes = attendance.cutoffMinutes(cutoff);
+            daysPresent = attendance.cutoffDaysPresent(cutoff);
+        }
+        return new CutoffSummary(LocalDate.ofEpochDay(EpochDays.cutoffStart(cutoff)),
+                                 LocalDate.ofEpochDay(EpochDays.cutoffEnd(cutoff)),
+                                 minutes, daysPresent,
+                                 Money.scale(hourlyRateCentavos, minutes, 60, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Builds the payslip for a date range
+     * Attendance is kept in date order, so two binary searches find the
+     * days in the range and only those days are read; the other days of
+     * this employee and every other employee are never touched, and the
+     * holidays and workdays come from WorkCalendar in constant time.
+     * Monthly allowances are paid half per payroll cutoff the range
+     * touches. SSS uses the table in effect on endDate, as PayrollRun does.
+     * 
+     * @param startDate First day of the range
+     * @param endDate Last day of the range
+     * @return The payslip
+     * @throws IllegalArgumentException if startDate is after endDate
+     */
+    public Payslip getPayslip(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date " + startDate + " is after end date " + endDate);
+        }
+        WorkCalendar calendar = WorkCalendar.standard();
+        int firstDay = (int) startDate.toEpochDay();
+        int lastDay = (int) endDate.toEpochDay();
+        long minutesWorked;
+        long lateMinutes = 0;
+        long overtimeMinutes = 0;
+        long workdaysPresent = 0;
+        boolean recorded;
+        synchronized (this) {
+            int first = attendance.lowerBound(firstDay);
+            int last = attendance.lowerBound(lastDay + 1);
+            recorded = first < last;
+            for (int i = first; i < last; i++) {
+                if (attendance.minutesWorked(i) == 0) {
+                    continue;
+                }
+                lateMinutes += Math.max(0, attendance.loginMinute(i) - Payslip.SHIFT_START_MINUTE);
+                overtimeMinutes += Math.max(0, attendance.logoutMinute(i) - Payslip.SHIFT_END_MINUTE);
+                if (calendar.isWorkday(attendance.epochDay(i))) {
+                    workdaysPresent++;
+                }
+            }
+            minutesWorked = payableMinutes(startDate, endDate);
         }
         
-        return totalBasePay;
+        // Without attendance in the range pay is estimated from the workdays, so none count as leave
+        long leaveDays = recorded ? Math.max(0, calendar.workdays(startDate, endDate) - workdaysPresent) : 0;
+        long gross = Money.scale(hourlyRateCentavos, minutesWorked, 60, RoundingMode.HALF_UP);
+        int cutoffs = EpochDays.cutoffOf(lastDay) - EpochDays.cutoffOf(firstDay) + 1;
+        return new Payslip(this, startDate, endDate, hourlyRateCentavos,
+                           minutesWorked, lateMinutes, overtimeMinutes,
+                           calendar.holidays(startDate, endDate), leaveDays, gross,
+                           perCutoffs(riceSubsidy, cutoffs), perCutoffs(phoneAllowance, cutoffs),
+                           perCutoffs(clothingAllowance, cutoffs),
+                           SssContributionTable.forDate(endDate).contribution(gross),
+                           philHealthDeduction(gross), pagIbigDeduction(gross), taxDeduction(gross));
     }
-    
+
     /**
-     * Fallback method to calculate pay without attendance records
+     * Gets the part of a monthly amount paid over a number of cutoffs, two per month
+     */
+    private static long perCutoffs(double monthly, int cutoffs) {
+        return Money.scale(Money.ofPesos(monthly), cutoffs, 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Fallback method to estimate minutes worked without attendance records
      * Used when no attendance records are available
      * 
      * @param startDate Start date of the period
      * @param endDate End date of the period
-     * @return Estimated pay for the period
-     */
-    private double calculatePayWithoutAttendance(LocalDate startDate, LocalDate endDate) {
-        // Calculate number of workdays in the period (excluding weekends)
-        long days = 0;
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            // Skip weekends (Saturday and Sunday)
-            if (current.getDayOfWeek().getValue() < 6) {
-                days++;
-            }
-            current = current.plusDays(1);
-        }
+     * @return Estimated minutes worked in the period
+     */
+    private static long estimateMinutesWithoutAttendance(LocalDate startDate, LocalDate endDate) {
+        // Workdays in the period, excluding weekends and holidays
+        long days = WorkCalendar.standard().workdays(startDate, endDate);
         
         // Assume 8 hours per workday
-        double estimatedHours = days * 8.0;
-        double estimatedPay = estimatedHours * hourlyRate;
-        return estimatedPay;
+        return days * 8 * 60;
     }
 
     /**
      * Calculates SSS deduction based on gross pay
-     * Uses the latest SSS contribution table (2023)
+     * Uses the SSS contribution table in effect today
      * 
      * @param grossPay The gross pay amount
      * @return SSS deduction amount
      */
     public double calculateSSSDeduction(double grossPay) {
-        // Latest SSS contribution table (2023)
-        if (grossPay <= 3250) return 135.00;
-        if (grossPay <= 4250) return 157.50;
-        if (grossPay <= 5250) return 180.00;
-        if (grossPay <= 6250) return 202.50;
-        if (grossPay <= 7250) return 225.00;
-        if (grossPay <= 8250) return 247.50;
-        if (grossPay <= 9250) return 270.00;
-        if (grossPay <= 10250) return 292.50;
-        if (grossPay <= 11250) return 315.00;
-        if (grossPay <= 12250) return 337.50;
-        if (grossPay <= 13250) return 360.00;
-        if (grossPay <= 14250) return 382.50;
-        if (grossPay <= 15250) return 405.00;
-        if (grossPay <= 16250) return 427.50;
-        if (grossPay <= 17250) return 450.00;
-        if (grossPay <= 18250) return 472.50;
-        if (grossPay <= 19250) return 495.00;
-        if (grossPay <= 20250) return 517.50;
-        if (grossPay <= 21250) return 540.00;
-        if (grossPay <= 22250) return 562.50;
-        if (grossPay <= 23250) return 585.00;
-        if (grossPay <= 24250) return 607.50;
-        return 630.00; // Maximum contribution
+        return Money.toPesos(calculateSSSDeductionCentavos(Money.ofPesos(grossPay)));
+    }
+
+    /**
+     * Calculates SSS deduction in centavos
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @return SSS deduction amount in centavos
+     */
+    public long calculateSSSDeductionCentavos(long grossPay) {
+        return SssContributionTable.current().contribution(grossPay);
     }
 
     /**
@@ -298,8 +427,17 @@ public class Employee extends Person implements Payable {
      * @return PhilHealth deduction amount
      */
     public double calculatePhilHealthDeduction(double grossPay) {
-        // Latest PhilHealth contribution rate (2023) - 4%
-        return grossPay * 0.04;
+        return Money.toPesos(calculatePhilHealthDeductionCentavos(Money.ofPesos(grossPay)));
+    }
+
+    /**
+     * Calculates PhilHealth deduction in centavos
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @return PhilHealth deduction amount in centavos
+     */
+    public long calculatePhilHealthDeductionCentavos(long grossPay) {
+        return philHealthDeduction(grossPay);
     }
 
     /**
@@ -310,8 +448,17 @@ public class Employee extends Person implements Payable {
      * @return Pag-IBIG deduction amount
      */
     public double calculatePagIBIGDeduction(double grossPay) {
-        // Latest Pag-IBIG contribution rate (2023) - 2% with 100 peso cap
-        return Math.min(grossPay * 0.02, 100);
+        return Money.toPesos(calculatePagIBIGDeductionCentavos(Money.ofPesos(grossPay)));
+    }
+
+    /**
+     * Calculates Pag-IBIG deduction in centavos
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @return Pag-IBIG deduction amount in centavos
+     */
+    public long calculatePagIBIGDeductionCentavos(long grossPay) {
+        return pagIbigDeduction(grossPay);
     }
 
     /**
@@ -322,13 +469,17 @@ public class Employee extends Person implements Payable {
      * @return Tax deduction amount
      */
     public double calculateTaxDeduction(double grossPay) {
-        // Simplified tax calculation (2023), assumes no exemptions
-        if (grossPay <= 20833) return 0; // No tax for income up to 20,833
-        if (grossPay <= 33333) return (grossPay - 20833) * 0.20; // 20% of excess over 20,833
-        if (grossPay <= 66667) return 2500 + (grossPay - 33333) * 0.25; // 2,500 + 25% of excess over 33,333
-        if (grossPay <= 166667) return 10833.33 + (grossPay - 66667) * 0.30; // 10,833.33 + 30% of excess over 66,667
-        if (grossPay <= 666667) return 40833.33 + (grossPay - 166667) * 0.32; // 40,833.33 + 32% of excess over 166,667
-        return 200833.33 + (grossPay - 666667) * 0.35; // 200,833.33 + 35% of excess over 666,667
+        return Money.toPesos(calculateTaxDeductionCentavos(Money.ofPesos(grossPay)));
+    }
+
+    /**
+     * Calculates tax deduction in centavos
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @return Tax deduction amount in centavos
+     */
+    public long calculateTaxDeductionCentavos(long grossPay) {
+        return taxDeduction(grossPay);
     }
 
     /**
@@ -338,9 +489,181 @@ public class Employee extends Person implements Payable {
      * @return Total basic deductions
      */
     public double calculateBasicDeduction(double grossPay) {
-        return calculateSSSDeduction(grossPay) +
-               calculatePhilHealthDeduction(grossPay) +
-               calculatePagIBIGDeduction(grossPay);
+        return Money.toPesos(calculateBasicDeductionCentavos(Money.ofPesos(grossPay)));
+    }
+
+    /**
+     * Calculates total basic deductions in centavos
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @return Total basic deductions in centavos
+     */
+    public long calculateBasicDeductionCentavos(long grossPay) {
+        return Money.add(Money.add(calculateSSSDeductionCentavos(grossPay),
+                                   calculatePhilHealthDeductionCentavos(grossPay)),
+                         calculatePagIBIGDeductionCentavos(grossPay));
+    }
+
+    /**
+     * Calculates all deductions: SSS, PhilHealth, Pag-IBIG and tax
+     * 
+     * @param grossPay The gross pay amount
+     * @return Total deduction amount
+     */
+    @Override
+    public double calculateDeduction(double grossPay) {
+        long gross = Money.ofPesos(grossPay);
+        return Money.toPesos(Money.add(calculateBasicDeductionCentavos(gross), calculateTaxDeductionCentavos(gross)));
+    }
+
+    /**
+     * Calculates net pay after all deductions
+     * 
+     * @param grossPay The gross pay amount
+     * @return Net pay amount
+     */
+    @Override
+    public double calculateNetPay(double grossPay) {
+        return Money.toPesos(calculateNetPayCentavos(Money.ofPesos(grossPay)));
+    }
+
+    /**
+     * Calculates net pay after all deductions in centavos
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @return Net pay amount in centavos
+     */
+    public long calculateNetPayCentavos(long grossPay) {
+        return Money.subtract(Money.subtract(grossPay, calculateBasicDeductionCentavos(grossPay)),
+                              calculateTaxDeductionCentavos(grossPay));
+    }
+
+    /**
+     * Calculates basic deductions for many gross pays at once
+     * Uses the Vector API when the jdk.incubator.vector module is present
+     * 
+     * @param grossPays The gross pay amounts
+     * @param result Receives the deduction at the same index as each amount
+     */
+    @Override
+    public void calculateBasicDeductions(double[] grossPays, double[] result) {
+        if (VectorDeductions.AVAILABLE) {
+            VectorDeductions.basic(SssContributionTable.current(), grossPays, result);
+        } else {
+            for (int i = 0; i < grossPays.length; i++) {
+                result[i] = calculateBasicDeduction(grossPays[i]);
+            }
+        }
+    }
+
+    /**
+     * Calculates basic deductions in centavos for many gross pays at once
+     * Creates no objects, so it suits the batch payroll path
+     * 
+     * @param grossPays The gross pay amounts in centavos
+     * @param result Receives the deduction at the same index as each amount; may be grossPays
+     */
+    public void calculateBasicDeductionsCentavos(long[] grossPays, long[] result) {
+        if (VectorDeductions.AVAILABLE) {
+            VectorDeductions.basic(SssContributionTable.current(), grossPays, result);
+        } else {
+            for (int i = 0; i < grossPays.length; i++) {
+                result[i] = calculateBasicDeductionCentavos(grossPays[i]);
+            }
+        }
+    }
+
+    /**
+     * Calculates tax deductions for many gross pays at once
+     * Uses the Vector API when the jdk.incubator.vector module is present
+     * 
+     * @param grossPays The gross pay amounts
+     * @param result Receives the deduction at the same index as each amount
+     */
+    @Override
+    public void calculateTaxDeductions(double[] grossPays, double[] result) {
+        if (VectorDeductions.AVAILABLE) {
+            VectorDeductions.tax(grossPays, result);
+        } else {
+            for (int i = 0; i < grossPays.length; i++) {
+                result[i] = calculateTaxDeduction(grossPays[i]);
+            }
+        }
+    }
+
+    /**
+     * Calculates tax deductions in centavos for many gross pays at once
+     * Creates no objects, so it suits the batch payroll path
+     * 
+     * @param grossPays The gross pay amounts in centavos
+     * @param result Receives the deduction at the same index as each amount; may be grossPays
+     */
+    public void calculateTaxDeductionsCentavos(long[] grossPays, long[] result) {
+        if (VectorDeductions.AVAILABLE) {
+            VectorDeductions.tax(grossPays, result);
+        } else {
+            for (int i = 0; i < grossPays.length; i++) {
+                result[i] = calculateTaxDeductionCentavos(grossPays[i]);
+            }
+        }
+    }
+
+    /**
+     * Computes SSS, PhilHealth and Pag-IBIG combined with the given SSS table
+     * Shared with the vector kernels, which fall back to it for huge amounts
+     * 
+     * @param table SSS table to use
+     * @param grossPay The gross pay amount in centavos
+     * @return Total basic deductions in centavos
+     */
+    static long basicDeduction(SssContributionTable table, long grossPay) {
+        return Money.add(Money.add(table.contribution(grossPay), philHealthDeduction(grossPay)),
+                         pagIbigDeduction(grossPay));
+    }
+
+    private static long philHealthDeduction(long grossPay) {
+        // Latest PhilHealth contribution rate (2023) - 4%
+        return Money.percent(grossPay, PHILHEALTH_RATE, RoundingMode.HALF_UP);
+    }
+
+    private static long pagIbigDeduction(long grossPay) {
+        // Latest Pag-IBIG contribution rate (2023) - 2% with 100 peso cap
+        return Math.min(Money.percent(grossPay, PAG_IBIG_RATE, RoundingMode.HALF_UP), PAG_IBIG_CAP);
+    }
+
+    /**
+     * Computes the tax on a gross pay from the TAX_ constants
+     * Shared with the vector kernels, which fall back to it for huge amounts
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @return Tax deduction amount in centavos
+     */
+    static long taxDeduction(long grossPay) {
+        // Simplified tax calculation (2023), assumes no exemptions
+        return taxDeduction(grossPay, TAX_THRESHOLDS, TAX_RATES, TAX_BASES);
+    }
+
+    /**
+     * Computes the tax on a gross pay from the given bands
+     * Nothing is owed up to the first threshold; above it, the tax is the
+     * base of the band plus its rate on the income above its threshold
+     * 
+     * @param grossPay The gross pay amount in centavos
+     * @param thresholds Lower bound of each band in centavos, ascending
+     * @param rates Rate of each band in basis points
+     * @param bases Tax owed at each lower bound in centavos
+     * @return Tax deduction amount in centavos
+     */
+    static long taxDeduction(long grossPay, long[] thresholds, long[] rates, long[] bases) {
+        if (grossPay <= thresholds[0]) {
+            return 0;
+        }
+        int band = 1;
+        while (band < thresholds.length && grossPay > thresholds[band]) {
+            band++;
+        }
+        band--;
+        return Money.add(bases[band], Money.percent(grossPay - thresholds[band], rates[band], RoundingMode.HALF_UP));
     }
 
     /**
@@ -364,7 +687,7 @@ public class Employee extends Person implements Payable {
      */
     @Override
     public String toString() {
-        return String.format("%s - %s (%s)", employeeId, getName(), position);
+        return String.format("%s - %s (%s)", employeeId, getName(), getPosition());
     }
 
     /**
@@ -373,23 +696,7 @@ public class Employee extends Person implements Payable {
      * @return CSV string representation of the employee
      */
     public String toCSV() {
-        StringBuilder csv = new StringBuilder();
-        csv.append(employeeId).append(",")
-           .append(getFirstName()).append(",")
-           .append(getLastName()).append(",")
-           .append(position).append(",")
-           .append(supervisor).append(",")
-           .append(sssNumber).append(",")
-           .append(philHealthNumber).append(",")
-           .append(pagIbigNumber).append(",")
-           .append(tin).append(",")
-           .append(hourlyRate);
-        
-        // Add hours worked records
-        for (Map.Entry<LocalDate, Double> entry : hoursWorked.entrySet()) {
-            csv.append(",").append(entry.getKey()).append(",").append(entry.getValue());
-        }
-        return csv.toString();
+        return CODECS.get().encode(this).toString();
     }
 
     /**
@@ -400,47 +707,7 @@ public class Employee extends Person implements Payable {
      * @throws IllegalArgumentException if CSV data is invalid
      */
     public static Employee fromCSV(String csv) {
-        String[] parts = csv.split(",");
-        if (parts.length < 9) {
-            throw new IllegalArgumentException("Invalid CSV data: Expected at least 9 fields, got " + parts.length);
-        }
-        
-        try {
-            // Parse basic employee information
-            String id = parts[0];
-            String firstName = parts[1];
-            String lastName = parts[2];
-            String position = parts[3];
-            String supervisor = parts[4];
-            String sssNumber = parts[5];
-            String philHealthNumber = parts[6];
-            String pagIbigNumber = parts[7];
-            String tin = parts[8];
-            double hourlyRate = Double.parseDouble(parts[9]);
-            
-            // Create employee
-            Employee employee = new Employee(id, firstName, lastName, position, supervisor, 
-                                          sssNumber, philHealthNumber, pagIbigNumber, tin, hourlyRate);
-            
-            // Process hours worked entries (if any)
-            for (int i = 10; i < parts.length - 1; i += 2) {
-                try {
-                    LocalDate date = LocalDate.parse(parts[i]);
-                    double hours = Double.parseDouble(parts[i + 1]);
-                    employee.addHoursWorked(date, hours);
-                } catch (DateTimeParseException e) {
-                    throw new IllegalArgumentException("Invalid date format at position " + i + ": " + parts[i]);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Invalid hours format at position " + (i+1) + ": " + parts[i+1]);
-                } catch (ArrayIndexOutOfBoundsException e) {
-                    throw new IllegalArgumentException("Missing hours value for date at position " + i);
-                }
-            }
-            
-            return employee;
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid number format in CSV: " + e.getMessage());
-        }
+        return CODECS.get().decode(csv);
     }
 
     /**
@@ -512,7 +779,7 @@ public class Employee extends Person implements Payable {
      * @param status The employment status (e.g., Regular, Probationary)
      */
     public void setStatus(String status) {
-        this.status = status;
+        this.statusCode = STATUSES.encode(status);
     }
     
     /**
@@ -548,7 +815,34 @@ public class Employee extends Person implements Payable {
      * @return The employment status
      */
     public String getStatus() {
-        return status;
+        return STATUSES.decode(statusCode);
+    }
+
+    /**
+     * Gets the position code, for grouping without comparing strings
+     * 
+     * @return Code of the position in POSITIONS
+     */
+    int positionCode() {
+        return positionCode;
+    }
+
+    /**
+     * Gets the supervisor code, for grouping without comparing strings
+     * 
+     * @return Code of the supervisor in SUPERVISORS
+     */
+    int supervisorCode() {
+        return supervisorCode;
+    }
+
+    /**
+     * Gets the status code, for grouping without comparing strings
+     * 
+     * @return Code of the status in STATUSES
+     */
+    int statusCode() {
+        return statusCode;
     }
 
     /**
@@ -557,16 +851,13 @@ public class Employee extends Person implements Payable {
      * @param date The date of the login
      * @param loginTime The time of login
      */
-    public void recordLogin(LocalDate date, LocalTime loginTime) {
-        AttendanceRecord record = attendanceRecords.getOrDefault(date, new AttendanceRecord());
-        record.setLoginTime(loginTime);
-        attendanceRecords.put(date, record);
+    public synchronized void recordLogin(LocalDate date, LocalTime loginTime) {
+        int index = attendance.setLogin((int) date.toEpochDay(), minuteOfDay(loginTime));
         
         // If logout is already recorded, calculate hours worked
-        if (record.getLogoutTime() != null) {
-            calculateAndUpdateHoursWorked(date, record);
+        if (attendance.logoutMinute(index) != AttendanceStore.NO_TIME) {
+            calculateAndUpdateHoursWorked(index);
         }
-        
     }
     
     /**
@@ -575,51 +866,150 @@ public class Employee extends Person implements Payable {
      * @param date The date of the logout
      * @param logoutTime The time of logout
      */
-    public void recordLogout(LocalDate date, LocalTime logoutTime) {
-        AttendanceRecord record = attendanceRecords.getOrDefault(date, new AttendanceRecord());
-        record.setLogoutTime(logoutTime);
-        attendanceRecords.put(date, record);
+    public synchronized void recordLogout(LocalDate date, LocalTime logoutTime) {
+        int index = attendance.setLogout((int) date.toEpochDay(), minuteOfDay(logoutTime));
         
         // If login is already recorded, calculate hours worked
-        if (record.getLoginTime() != null) {
-            calculateAndUpdateHoursWorked(date, record);
+        if (attendance.loginMinute(index) != AttendanceStore.NO_TIME) {
+            calculateAndUpdateHoursWorked(index);
+        }
+    }
+
+    /**
+     * Records a day's login and logout given as primitive values
+     * Used by bulk loaders that parse attendance files without creating date objects
+     *
+     * @param epochDay The date as days since 1970-01-01
+     * @param loginMinute Minute of the day of the login, or -1 if not recorded
+     * @param logoutMinute Minute of the day of the logout, or -1 if not recorded
+     */
+    public synchronized void recordAttendance(int epochDay, int loginMinute, int logoutMinute) {
+        int index = -1;
+        if (loginMinute >= 0) {
+            index = attendance.setLogin(epochDay, loginMinute);
+        }
+        if (logoutMinute >= 0) {
+            index = attendance.setLogout(epochDay, logoutMinute);
+        }
+        if (index >= 0 && attendance.loginMinute(index) != AttendanceStore.NO_TIME
+                && attendance.logoutMinute(index) != AttendanceStore.NO_TIME) {
+            calculateAndUpdateHoursWorked(index);
         }
-        
-        // For debugging
     }
     
     /**
      * Calculates and updates hours worked based on login and logout times
+     * Hours for the day now come from the times, replacing any hours added by hand
+     * The cutoff totals have already been adjusted by the attendance store
+     * when the time was set
      * 
-     * @param date The date of the attendance record
-     * @param record The attendance record with login and logout times
-     */
-    private void calculateAndUpdateHoursWorked(LocalDate date, AttendanceRecord record) {
-        if (record.getLoginTime() != null && record.getLogoutTime() != null) {
-            // Ensure logout time is after login time
-            if (record.getLogoutTime().isAfter(record.getLoginTime())) {
-                Duration duration = Duration.between(record.getLoginTime(), record.getLogoutTime());
-                double hours = duration.toMinutes() / 60.0;
-                
-                // Round to 2 decimal places for clarity
-                hours = Math.round(hours * 100.0) / 100.0;
-                
-                // Update hours worked for this date
-                hoursWorked.put(date, hours);
-                
-                // For debugging
-                
+     * @param index Position of the day in the attendance store
+     */
+    private void calculateAndUpdateHoursWorked(int index) {
+        // Only a logout after the login yields hours for the day
+        if (addedHours != null && attendance.minutesWorked(index) > 0) {
+            addedHours.remove(attendance.epochDay(index));
+        }
+    }
+
+    /**
+     * Releases spare attendance capacity after a bulk load
+     */
+    synchronized void trimAttendance() {
+        attendance.trimToSize();
+    }
+
+    /**
+     * Removes all login and logout times, e.g. before reloading the attendance file
+     * Hours added by hand are kept
+     */
+    synchronized void clearAttendance() {
+        attendance.clear();
+    }
+
+    /**
+     * Replaces the attendance with a store built off to the side, e.g. by a
+     * full reload of the attendance file, so readers never see it half loaded
+     * Hours added by hand are dropped for days that now have times, as
+     * recordAttendance does
+     *
+     * @param replacement The new attendance; no longer changed by the caller
+     */
+    synchronized void replaceAttendance(AttendanceStore replacement) {
+        attendance = replacement;
+        if (addedHours != null) {
+            for (int i = 0; i < replacement.size(); i++) {
+                if (replacement.minutesWorked(i) > 0) {
+                    addedHours.remove(replacement.epochDay(i));
+                }
             }
         }
     }
+
+    /**
+     * Gets the columnar attendance store for read-only use by loaders and views
+     * Callers hold this employee's lock while reading it
+     * 
+     * @return The attendance store
+     */
+    AttendanceStore attendance() {
+        return attendance;
+    }
+
+    /**
+     * Gets the hours added by hand, for read-only use by storage classes
+     * 
+     * @return The ledger, or null if no hours were ever added
+     */
+    HoursLedger addedHours() {
+        return addedHours;
+    }
     
     /**
      * Gets the attendance records for this employee
      * 
      * @return Map of dates to attendance records
      */
-    public Map<LocalDate, AttendanceRecord> getAttendanceRecords() {
-        return new HashMap<>(attendanceRecords);
+    public synchronized Map<LocalDate, AttendanceRecord> getAttendanceRecords() {
+        Map<LocalDate, AttendanceRecord> records = new HashMap<>();
+        for (int i = 0; i < attendance.size(); i++) {
+            AttendanceRecord record = new AttendanceRecord();
+            record.setLoginTime(toLocalTime(attendance.loginMinute(i)));
+            record.setLogoutTime(toLocalTime(attendance.logoutMinute(i)));
+            records.put(LocalDate.ofEpochDay(attendance.epochDay(i)), record);
+        }
+        return records;
+    }
+
+    /**
+     * Converts hours worked in minutes to hours rounded to 2 decimal places
+     * 
+     * @param minutes Minutes worked
+     * @return Hours worked, rounded for clarity
+     */
+    static double roundHours(int minutes) {
+        double hours = minutes / 60.0;
+        return Math.round(hours * 100.0) / 100.0;
+    }
+
+    /**
+     * Converts a time to minutes since midnight
+     * 
+     * @param time The time of day
+     * @return Minute of the day
+     */
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Converts minutes since midnight to a time
+     * 
+     * @param minute Minute of the day, or NO_TIME
+     * @return The time, or null if not recorded
+     */
+    private static LocalTime toLocalTime(int minute) {
+        return minute == AttendanceStore.NO_TIME ? null : LocalTime.of(minute / 60, minute % 60);
     }
     
     /**
@@ -806,4 +1196,4 @@ public class Employee extends Person implements Payable {
             return 0;
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,489 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reusable encoder and decoder for the Employee.toCSV line format
+ *
+ * The layout is the one written by Employee.toCSV and read by fromCSV:
+ * id, first name, last name, position, supervisor, SSS, PhilHealth,
+ * Pag-IBIG, TIN, hourly rate, then one date,hours pair per day worked, with
+ * dates as yyyy-MM-dd and numbers as Double.toString writes them.
+ *
+ * Unlike toCSV and fromCSV, this class:
+ * - Encodes into one reusable CharBuffer instead of a new StringBuilder
+ * - Walks the attendance and hours columns directly instead of building a
+ *   map of boxed dates and hours
+ * - Formats and parses dates and numbers itself, so no LocalDate, Double or
+ *   substring is created per field; position and supervisor are looked up
+ *   in their dictionaries straight from the buffer
+ *
+ * Only the Strings an Employee keeps (ID, names, government IDs) are
+ * created. Numbers that are not plain decimals of at most two places, or
+ * dates outside years 0 to 9999, take a slower path through the JDK that
+ * produces the same text.
+ *
+ * Pairs are written in date order; toCSV used to write them in hash order.
+ * Instances are not thread-safe.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class EmployeeCsvCodec {
+    /** Number of fields before the first date,hours pair */
+    private static final int FIXED_FIELDS = 10;
+
+    /** Powers of ten that are exact as doubles */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Double.toString switches to scientific notation at and above this value */
+    private static final double PLAIN_LIMIT = 1e7;
+
+    /** Encoded line, reused across calls */
+    private char[] out = new char[256];
+    /** View of {@link #out} returned by encode; replaced only when out grows */
+    private CharBuffer view = CharBuffer.wrap(out);
+    /** Characters used in {@link #out} */
+    private int length;
+    /** Copy of a String line being decoded, reused across calls */
+    private char[] in = new char[256];
+    /** Field boundaries of the line being decoded, reused across calls */
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+
+    /**
+     * Encodes an employee as one CSV line without a line terminator
+     * The returned buffer is reused by the next call
+     *
+     * @param employee The employee to encode
+     * @return Buffer holding the line, positioned at its start
+     */
+    public CharBuffer encode(Employee employee) {
+        length = 0;
+        appendText(employee.getId()).append(',');
+        appendText(employee.getFirstName()).append(',');
+        appendText(employee.getLastName()).append(',');
+        appendText(employee.getPosition()).append(',');
+        appendText(employee.getSupervisor()).append(',');
+        appendText(employee.getSssNumber()).append(',');
+        appendText(employee.getPhilHealthNumber()).append(',');
+        appendText(employee.getPagIbigNumber()).append(',');
+        appendText(employee.getTin()).append(',');
+        appendNumber(employee.getHourlyRate());
+
+        // Merge the attendance and hand-added hours columns, both sorted by date
+        // Held so a clock event cannot change the columns part way through
+        synchronized (employee) {
+            AttendanceStore attendance = employee.attendance();
+            HoursLedger ledger = employee.addedHours();
+            int ledgerSize = ledger == null ? 0 : ledger.size();
+            int a = 0;
+            int l = 0;
+            while (true) {
+                while (a < attendance.size() && attendance.minutesWorked(a) <= 0) {
+                    a++;
+                }
+                int attendanceDay = a < attendance.size() ? attendance.epochDay(a) : Integer.MAX_VALUE;
+                int ledgerDay = l < ledgerSize ? ledger.epochDay(l) : Integer.MAX_VALUE;
+                if (a >= attendance.size() && l >= ledgerSize) {
+                    break;
+                }
+                int day = Math.min(attendanceDay, ledgerDay);
+                double hours;
+                if (attendanceDay == day && ledgerDay == day) {
+                    hours = Employee.roundHours(attendance.minutesWorked(a++)) + ledger.hours(l++);
+                } else if (attendanceDay == day) {
+                    hours = Employee.roundHours(attendance.minutesWorked(a++));
+                } else {
+                    hours = ledger.hours(l++);
+                }
+                append(',');
+                appendDate(day);
+                append(',');
+                appendNumber(hours);
+            }
+        }
+        if (view.array() != out) {
+            view = CharBuffer.wrap(out);
+        }
+        view.clear();
+        view.limit(length);
+        return view;
+    }
+
+    /**
+     * Decodes one CSV line
+     *
+     * @param line The line, without a line terminator
+     * @return New Employee object
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public Employee decode(CharBuffer line) {
+        if (line.hasArray()) {
+            int from = line.arrayOffset() + line.position();
+            return decode(line.array(), from, from + line.remaining());
+        }
+        char[] copy = new char[line.remaining()];
+        line.duplicate().get(copy);
+        return decode(copy, 0, copy.length);
+    }
+
+    /**
+     * Decodes one CSV line
+     * The line is copied into a buffer reused across calls
+     *
+     * @param line The line, without a line terminator
+     * @return New Employee object
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public Employee decode(String line) {
+        if (in.length < line.length()) {
+            in = new char[Math.max(line.length(), in.length * 2)];
+        }
+        line.getChars(0, line.length(), in, 0);
+        return decode(in, 0, line.length());
+    }
+
+    /**
+     * Decodes one CSV line held in a range of a character array
+     *
+     * @param chars Buffer holding the line
+     * @param from Start of the line, inclusive
+     * @param to End of the line, exclusive, before any line terminator
+     * @return New Employee object
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public Employee decode(char[] chars, int from, int to) {
+        int fields = split(chars, from, to);
+        if (fields < FIXED_FIELDS) {
+            throw new IllegalArgumentException("Invalid CSV data: Expected at least " + FIXED_FIELDS + " fields, got " + fields);
+        }
+        Employee employee = new Employee(
+            text(chars, 0),
+            text(chars, 1),
+            text(chars, 2),
+            Employee.POSITIONS.decode(Employee.POSITIONS.encode(chars, starts[3], ends[3])),
+            Employee.SUPERVISORS.decode(Employee.SUPERVISORS.encode(chars, starts[4], ends[4])),
+            text(chars, 5),
+            text(chars, 6),
+            text(chars, 7),
+            text(chars, 8),
+            number(chars, 9));
+        // A trailing date without hours is ignored, as fromCSV always did
+        for (int i = FIXED_FIELDS; i + 1 < fields; i += 2) {
+            employee.addHoursWorked(date(chars, i), number(chars, i + 1));
+        }
+        return employee;
+    }
+
+    /**
+     * Writes employees as CSV lines, one per employee
+     *
+     * @param employees Employees to write
+     * @param writer Destination; not closed
+     * @throws UncheckedIOException if writing fails
+     */
+    public void write(Iterable<Employee> employees, Writer writer) {
+        try {
+            for (Employee employee : employees) {
+                encode(employee);
+                writer.write(out, 0, length);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write employee CSV", e);
+        }
+    }
+
+    /**
+     * Reads CSV lines and decodes each into an employee
+     * Blank lines are skipped
+     *
+     * @param reader Source; not closed
+     * @param sink Receives each employee in file order
+     * @throws UncheckedIOException if reading fails
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public void read(Reader reader, Consumer<? super Employee> sink) {
+        char[] buffer = new char[64 * 1024];
+        int filled = 0;
+        try {
+            while (true) {
+                int read = reader.read(buffer, filled, buffer.length - filled);
+                if (read < 0) {
+                    if (filled > 0) {
+                        decodeLines(buffer, filled, true, sink);
+                    }
+                    return;
+                }
+                filled += read;
+                int consumed = decodeLines(buffer, filled, false, sink);
+                System.arraycopy(buffer, consumed, buffer, 0, filled - consumed);
+                filled -= consumed;
+                if (filled == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read employee CSV", e);
+        }
+    }
+
+    /**
+     * Decodes the complete lines at the start of a buffer
+     *
+     * @return Number of characters consumed
+     */
+    private int decodeLines(char[] buffer, int filled, boolean endOfInput, Consumer<? super Employee> sink) {
+        int lineStart = 0;
+        for (int i = 0; i < filled; i++) {
+            if (buffer[i] == '\n') {
+                decodeLine(buffer, lineStart, i, sink);
+                lineStart = i + 1;
+            }
+        }
+        if (endOfInput && lineStart < filled) {
+            decodeLine(buffer, lineStart, filled, sink);
+            lineStart = filled;
+        }
+        return lineStart;
+    }
+
+    private void decodeLine(char[] buffer, int from, int to, Consumer<? super Employee> sink) {
+        if (to > from && buffer[to - 1] == '\r') {
+            to--;
+        }
+        if (to > from) {
+            sink.accept(decode(buffer, from, to));
+        }
+    }
+
+    // ----- Encoding helpers -----
+
+    private EmployeeCsvCodec append(char c) {
+        if (length == out.length) {
+            out = Arrays.copyOf(out, length * 2);
+        }
+        out[length++] = c;
+        return this;
+    }
+
+    private EmployeeCsvCodec appendText(String text) {
+        if (text == null) {
+            text = "null";
+        }
+        int n = text.length();
+        if (length + n > out.length) {
+            out = Arrays.copyOf(out, Math.max(out.length * 2, length + n));
+        }
+        text.getChars(0, n, out, length);
+        length += n;
+        return this;
+    }
+
+    /**
+     * Appends a date as yyyy-MM-dd, matching LocalDate.toString
+     */
+    private void appendDate(int epochDay) {
+        // Civil-from-days, the inverse of EpochDays.of
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            appendText(LocalDate.ofEpochDay(epochDay).toString());
+            return;
+        }
+        appendDigits(year, 4);
+        append('-');
+        appendDigits(month, 2);
+        append('-');
+        appendDigits(day, 2);
+    }
+
+    private void appendDigits(int value, int width) {
+        // Reserve the characters, then fill them from the right
+        for (int k = 0; k < width; k++) {
+            append('0');
+        }
+        for (int i = length - 1; i >= length - width; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Appends a number exactly as Double.toString would write it
+     * Values that are whole hundredths below ten million are written
+     * directly; anything else goes through Double.toString
+     */
+    private void appendNumber(double value) {
+        double magnitude = Math.abs(value);
+        long hundredths = Math.round(magnitude * 100);
+        boolean negativeZero = value == 0 && Double.doubleToRawLongBits(value) != 0;
+        if (negativeZero || !(magnitude < PLAIN_LIMIT) || (magnitude != 0 && magnitude < 1e-3)
+                || hundredths / 100.0 != magnitude) {
+            appendText(Double.toString(value));
+            return;
+        }
+        // With at most nine significant digits, the two-decimal form is the
+        // shortest text that reads back as this double, which is what
+        // Double.toString produces
+        if (value < 0) {
+            append('-');
+        }
+        appendLong(hundredths / 100);
+        append('.');
+        int cents = (int) (hundredths % 100);
+        append((char) ('0' + cents / 10));
+        if (cents % 10 != 0) {
+            append((char) ('0' + cents % 10));
+        }
+    }
+
+    private void appendLong(long value) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int k = 0; k < digits; k++) {
+            append('0');
+        }
+        for (int i = length - 1; i >= length - digits; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // ----- Decoding helpers -----
+
+    /**
+     * Records the field boundaries of a line
+     *
+     * @return Number of fields
+     */
+    private int split(char[] chars, int from, int to) {
+        int count = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || chars[i] == ',') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = start;
+                ends[count] = i;
+                count++;
+                start = i + 1;
+            }
+        }
+        // Like String.split, trailing empty fields do not count
+        while (count > 0 && starts[count - 1] == ends[count - 1]) {
+            count--;
+        }
+        return count;
+    }
+
+    private String text(char[] chars, int field) {
+        return new String(chars, starts[field], ends[field] - starts[field]);
+    }
+
+    /**
+     * Parses a yyyy-MM-dd field into an epoch day
+     */
+    private int date(char[] chars, int field) {
+        int p = starts[field];
+        int end = ends[field];
+        if (end - p == 10 && chars[p + 4] == '-' && chars[p + 7] == '-') {
+            int year = digits(chars, p, 4);
+            int month = digits(chars, p + 5, 2);
+            int day = digits(chars, p + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0 && EpochDays.isValid(year, month, day)) {
+                return EpochDays.of(year, month, day);
+            }
+        }
+        String text = text(chars, field);
+        try {
+            return (int) LocalDate.parse(text).toEpochDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format at position " + field + ": " + text);
+        }
+    }
+
+    private static int digits(char[] chars, int p, int count) {
+        int value = 0;
+        for (int i = p; i < p + count; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses a decimal field, giving the same result as Double.parseDouble
+     */
+    private double number(char[] chars, int field) {
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        boolean fraction = false;
+        boolean anyDigit = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                if (mantissa >= (1L << 53) / 10) {
+                    return slowNumber(chars, field);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                anyDigit = true;
+                if (fraction) {
+                    scale++;
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                return slowNumber(chars, field);
+            }
+        }
+        if (!anyDigit || scale >= POWERS_OF_TEN.length) {
+            return slowNumber(chars, field);
+        }
+        // Both operands are exact doubles, so the quotient is correctly rounded
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private double slowNumber(char[] chars, int field) {
+        String text = text(chars, field);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number format at position " + field + ": " + text);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * File storage for the "MotorPH Employee Data - Employee Details.csv" master file
+ *
+ * This class reads and writes the employee master list:
+ * - Parses quoted addresses and grouped amounts such as "90,000" correctly
+ * - Streams each row straight into an Employee without a String[] per line
+ * - Writes the same 19-column layout back, quoting fields where needed
+ *
+ * Use {@link #forEach(Consumer)} to process very large files in bounded memory;
+ * {@link #load()} collects every employee into a list.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public class EmployeeCsvStorage implements FileStorage<Employee> {
+    /** Default location of the employee master file, relative to the project directory */
+    public static final String DEFAULT_FILE_PATH = "src/MyPackage/MotorPH Employee Data - Employee Details.csv";
+
+    /** Column header written by {@link #save(List)} */
+    private static final String HEADER = "Employee #,Last Name,First Name,Birthday,Address,Phone Number,"
+        + "SSS #,Philhealth #,TIN #,Pag-ibig #,Status,Position,Immediate Supervisor,Basic Salary,"
+        + "Rice Subsidy,Phone Allowance,Clothing Allowance,Gross Semi-monthly Rate,Hourly Rate";
+
+    // Column positions in the employee master file
+    private static final int COL_ID = 0;
+    private static final int COL_LAST_NAME = 1;
+    private static final int COL_FIRST_NAME = 2;
+    private static final int COL_BIRTHDAY = 3;
+    private static final int COL_ADDRESS = 4;
+    private static final int COL_PHONE = 5;
+    private static final int COL_SSS = 6;
+    private static final int COL_PHILHEALTH = 7;
+    private static final int COL_TIN = 8;
+    private static final int COL_PAGIBIG = 9;
+    private static final int COL_STATUS = 10;
+    private static final int COL_POSITION = 11;
+    private static final int COL_SUPERVISOR = 12;
+    private static final int COL_BASIC_SALARY = 13;
+    private static final int COL_RICE = 14;
+    private static final int COL_PHONE_ALLOWANCE = 15;
+    private static final int COL_CLOTHING = 16;
+    private static final int COL_GROSS_SEMI_MONTHLY = 17;
+    private static final int COL_HOURLY_RATE = 18;
+
+    /** Path of the CSV file */
+    private final String filePath;
+
+    /**
+     * Constructs a storage for the default employee master file
+     */
+    public EmployeeCsvStorage() {
+        this(DEFAULT_FILE_PATH);
+    }
+
+    /**
+     * Constructs a storage for the given employee master file
+     *
+     * @param filePath Path of the CSV file
+     */
+    public EmployeeCsvStorage(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Loads all employees from the CSV file
+     *
+     * @return List of loaded employees, in file order
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    @Override
+    public List<Employee> load() {
+        List<Employee> employees = new ArrayList<>();
+        forEach(employees::add);
+        return employees;
+    }
+
+    /**
+     * Streams every employee in the CSV file to the given consumer
+     * Only one row is buffered at a time, so memory use does not grow with file size
+     *
+     * @param sink Receives each employee in file order
+     * @throws UncheckedIOException if the file cannot be read
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    public void forEach(Consumer<? super Employee> sink) {
+        try (Reader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            read(reader, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read employee file " + filePath, e);
+        }
+    }
+
+    /**
+     * Streams every employee from an employee master CSV stream, skipping the header row
+     *
+     * @param reader Character stream positioned at the header row
+     * @param sink Receives each employee in stream order
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    static void read(Reader reader, Consumer<? super Employee> sink) throws IOException {
+        CsvTokenizer csv = new CsvTokenizer(reader);
+        if (!csv.next()) {
+            return;
+        }
+        while (csv.next()) {
+            sink.accept(toEmployee(csv));
+        }
+    }
+
+    /**
+     * Builds an Employee from the current record of the tokenizer
+     *
+     * @param csv Tokenizer positioned on a data row
+     * @return New Employee object
+     */
+    private static Employee toEmployee(CsvTokenizer csv) {
+        Employee employee = new Employee(
+            csv.field(COL_ID),
+            csv.field(COL_FIRST_NAME),
+            csv.field(COL_LAST_NAME),
+            Employee.POSITIONS.decode(csv.code(COL_POSITION, Employee.POSITIONS)),
+            Employee.SUPERVISORS.decode(csv.code(COL_SUPERVISOR, Employee.SUPERVISORS)),
+            csv.field(COL_SSS),
+            csv.field(COL_PHILHEALTH),
+            csv.field(COL_PAGIBIG),
+            csv.field(COL_TIN),
+            csv.number(COL_HOURLY_RATE));
+        employee.setBirthday(csv.field(COL_BIRTHDAY));
+        employee.setAddress(csv.field(COL_ADDRESS));
+        employee.setPhoneNumber(csv.field(COL_PHONE));
+        employee.setStatus(Employee.STATUSES.decode(csv.code(COL_STATUS, Employee.STATUSES)));
+        employee.setBasicSalary(csv.number(COL_BASIC_SALARY));
+        employee.setRiceSubsidy(csv.number(COL_RICE));
+        employee.setPhoneAllowance(csv.number(COL_PHONE_ALLOWANCE));
+        employee.setClothingAllowance(csv.number(COL_CLOTHING));
+        employee.setGrossSemiMonthlyRate(csv.number(COL_GROSS_SEMI_MONTHLY));
+        return employee;
+    }
+
+    /**
+     * Saves employees to the CSV file, replacing its contents
+     *
+     * @param items List of employees to save
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public void save(List<Employee> items) {
+        try (Writer writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            for (Employee employee : items) {
+                writeField(writer, employee.getId());
+                writeField(writer, employee.getLastName());
+                writeField(writer, employee.getFirstName());
+                writeField(writer, employee.getBirthday());
+                writeField(writer, employee.getAddress());
+                writeField(writer, employee.getPhoneNumber());
+                writeField(writer, employee.getSssNumber());
+                writeField(writer, employee.getPhilHealthNumber());
+                writeField(writer, employee.getTin());
+                writeField(writer, employee.getPagIbigNumber());
+                writeField(writer, employee.getStatus());
+                writeField(writer, employee.getPosition());
+                writeField(writer, employee.getSupervisor());
+                writeAmount(writer, employee.getBasicSalary());
+                writeAmount(writer, employee.getRiceSubsidy());
+                writeAmount(writer, employee.getPhoneAllowance());
+                writeAmount(writer, employee.getClothingAllowance());
+                writeAmount(writer, employee.getGrossSemiMonthlyRate());
+                writer.write(formatAmount(employee.getHourlyRate()));
+                writer.write("\r\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write employee file " + filePath, e);
+        }
+    }
+
+    /**
+     * Gets the file path used for storage
+     *
+     * @return The file path
+     */
+    @Override
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Writes a text field followed by a comma, quoting it if needed
+     *
+     * @param writer Destination writer
+     * @param value Field value, may be null
+     * @throws IOException if writing fails
+     */
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value != null) {
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write(',');
+    }
+
+    /**
+     * Writes an amount field followed by a comma, without grouping separators
+     *
+     * @param writer Destination writer
+     * @param value Amount to write
+     * @throws IOException if writing fails
+     */
+    private static void writeAmount(Writer writer, double value) throws IOException {
+        writer.write(formatAmount(value));
+        writer.write(',');
+    }
+
+    /**
+     * Formats an amount as plain decimal text, e.g. 90000 or 535.71
+     *
+     * @param value Amount to format
+     * @return The formatted amount
+     */
+    private static String formatAmount(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
@@ -12,10 +12,6 @@ import MyPackage.empProfile;
  */
 public class EmployeeDetail extends javax.swing.JFrame {
 
-public static empProfile profile = new empProfile();
-public static empAttendance attn = new empAttendance();
-public static empPayslip pay = new empPayslip();
-
     /**
      * Creates new form EmployeeDetail
      */
@@ -124,24 +120,19 @@ public static empPayslip pay = new empPayslip();
     }// </editor-fold>//GEN-END:initComponents
 
     private void jButton1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton1ActionPerformed
-        new empProfile().setVisible(true);
-        this.dispose();
+        FormRegistry.show(this, empProfile.class);
     }//GEN-LAST:event_jButton1ActionPerformed
 
     private void jButton4ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton4ActionPerformed
-    MyGUI out = new MyGUI();
-    out.setVisible(true);
-    this.dispose();// TODO add your handling code here:
+    FormRegistry.show(this, MyGUI.class);
     }//GEN-LAST:event_jButton4ActionPerformed
 
     private void jButton2ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton2ActionPerformed
-    new empAttendance().setVisible(true);
-        this.dispose();        // TODO add your handling code here:
+    FormRegistry.show(this, empAttendance.class);
     }//GEN-LAST:event_jButton2ActionPerformed
 
     private void jButton3ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton3ActionPerformed
-    new empPayslip().setVisible(true);
-        this.dispose();    // TODO add your handling code here:
+    FormRegistry.show(this, empPayslip.class);
     }//GEN-LAST:event_jButton3ActionPerformed
 
     /**
@@ -174,7 +165,7 @@ public static empPayslip pay = new empPayslip();
         /* Create and display the form */
         java.awt.EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new EmployeeDetail().setVisible(true);
+                FormRegistry.show(null, EmployeeDetail.class);
             }
         });
     }
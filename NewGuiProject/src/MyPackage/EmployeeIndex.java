@@ -0,0 +1,115 @@
+package MyPackage;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lookup table from numeric employee number to Employee
+ *
+ * Uses open addressing over primitive int keys, so a lookup while parsing
+ * attendance rows does not box the employee number. Employees whose ID is
+ * not a plain number are left out of the index.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class EmployeeIndex {
+    /** Marker for an unused slot */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    /** Employee numbers, or EMPTY */
+    private final int[] keys;
+    /** Employees, parallel to keys */
+    private final Employee[] values;
+    /** Position of each employee in the indexed list, parallel to keys */
+    private final int[] positions;
+    /** keys.length - 1, a power of two minus one */
+    private final int mask;
+
+    /**
+     * Builds an index over the given employees
+     *
+     * @param employees Employees to index
+     */
+    EmployeeIndex(List<Employee> employees) {
+        int capacity = Integer.highestOneBit(Math.max(4, employees.size() * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new Employee[capacity];
+        positions = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            int number = parseNumber(employee.getId());
+            if (number != EMPTY) {
+                int slot = slotOf(number);
+                keys[slot] = number;
+                values[slot] = employee;
+                positions[slot] = i;
+            }
+        }
+    }
+
+    /**
+     * Finds the employee with the given employee number
+     *
+     * @param number The employee number, e.g. 10001
+     * @return The employee, or null if not found
+     */
+    Employee get(int number) {
+        return number == EMPTY ? null : values[slotOf(number)];
+    }
+
+    /**
+     * Finds the employee with the given employee ID
+     *
+     * @param id The employee ID, e.g. "10001"
+     * @return The employee, or null if not found or the ID is not a plain number
+     */
+    Employee get(String id) {
+        return get(parseNumber(id));
+    }
+
+    /**
+     * Finds the position in the indexed list of the employee with the given number
+     *
+     * @param number The employee number, e.g. 10001
+     * @return Position of the employee, or -1 if not found
+     */
+    int positionOf(int number) {
+        if (number == EMPTY) {
+            return -1;
+        }
+        int slot = slotOf(number);
+        return keys[slot] == number ? positions[slot] : -1;
+    }
+
+    private int slotOf(int number) {
+        int slot = (number * 0x9E3779B9) >>> 7 & mask;
+        while (keys[slot] != EMPTY && keys[slot] != number) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Parses an employee ID as a non-negative number
+     *
+     * @param id The employee ID
+     * @return The number, or EMPTY if the ID is not a plain number
+     */
+    private static int parseNumber(String id) {
+        if (id == null || id.isEmpty() || id.length() > 9) {
+            return EMPTY;
+        }
+        int number = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return EMPTY;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+}
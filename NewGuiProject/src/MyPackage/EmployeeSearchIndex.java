@@ -0,0 +1,223 @@
+package MyPackage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory search index over employees for type-ahead filtering
+ *
+ * Employees are numbered by the order they are added, which is their row
+ * in EmployeeTableModel. Two structures answer a query without looking at
+ * the employees themselves:
+ * - A prefix trie over the words of each first and last name, ignoring
+ *   case; every node keeps the rows having a word that starts with the
+ *   node's prefix, so a prefix costs one step per character
+ * - A hash map from employee #, SSS, PhilHealth, TIN and Pag-IBIG numbers
+ *   to rows, matched exactly with dashes and spaces ignored
+ *
+ * A query is first tried as a number, then as name prefixes, all of which
+ * must match: "gar ma" finds Manuel Garcia. The cost depends on the query
+ * length and the number of matches, not the number of employees.
+ *
+ * Not thread-safe; EmployeeTableModel uses it on the Event Dispatch Thread.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class EmployeeSearchIndex {
+    /** Trie node for the empty prefix */
+    private final Node root = new Node();
+    /** Rows by normalised identification number */
+    private final Map<String, Rows> numbers = new HashMap<>();
+    /** Number of employees added */
+    private int size;
+
+    /**
+     * Adds an employee as the next row
+     *
+     * @param employee The employee
+     */
+    public void add(Employee employee) {
+        int row = size++;
+        addWords(employee.getFirstName(), row);
+        addWords(employee.getLastName(), row);
+        addNumber(employee.getId(), row);
+        addNumber(employee.getSssNumber(), row);
+        addNumber(employee.getPhilHealthNumber(), row);
+        addNumber(employee.getTin(), row);
+        addNumber(employee.getPagIbigNumber(), row);
+    }
+
+    /**
+     * Gets the number of employees added
+     *
+     * @return Number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the rows matching a query
+     *
+     * @param query An exact employee #, SSS, PhilHealth, TIN or Pag-IBIG
+     *        number, or the starts of one or more name words
+     * @return Matching rows, or null if the query is blank and every row matches
+     */
+    public BitSet search(String query) {
+        String number = normalise(query);
+        if (number.isEmpty()) {
+            return null;
+        }
+        BitSet matches = new BitSet(size);
+        Rows exact = numbers.get(number);
+        if (exact != null) {
+            exact.setIn(matches);
+            return matches;
+        }
+        boolean first = true;
+        int length = query.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !Character.isLetterOrDigit(query.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            Node node = root;
+            while (end < length && Character.isLetterOrDigit(query.charAt(end))) {
+                if (node != null) {
+                    node = node.child(Character.toLowerCase(query.charAt(end)));
+                }
+                end++;
+            }
+            if (end > start) {
+                if (node == null) {
+                    matches.clear();
+                    return matches;
+                }
+                if (first) {
+                    node.setIn(matches);
+                    first = false;
+                } else {
+                    BitSet word = new BitSet(size);
+                    node.setIn(word);
+                    matches.and(word);
+                }
+            }
+            start = end;
+        }
+        return matches;
+    }
+
+    /**
+     * Adds every word of a name to the trie
+     */
+    private void addWords(String name, int row) {
+        if (name == null) {
+            return;
+        }
+        int length = name.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !Character.isLetterOrDigit(name.charAt(start))) {
+                start++;
+            }
+            Node node = root;
+            while (start < length && Character.isLetterOrDigit(name.charAt(start))) {
+                node = node.childOrAdd(Character.toLowerCase(name.charAt(start)));
+                node.add(row);
+                start++;
+            }
+        }
+    }
+
+    private void addNumber(String number, int row) {
+        if (number == null) {
+            return;
+        }
+        String key = normalise(number);
+        if (!key.isEmpty()) {
+            numbers.computeIfAbsent(key, k -> new Rows()).add(row);
+        }
+    }
+
+    /**
+     * Keeps only the letters and digits of a text, in lower case
+     */
+    private static String normalise(String text) {
+        StringBuilder key = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Ascending list of rows without repeats
+     */
+    private static class Rows {
+        private int[] rows = new int[1];
+        private int count;
+
+        /**
+         * Adds a row; rows arrive in ascending order, so a repeat is the last one
+         */
+        void add(int row) {
+            if (count > 0 && rows[count - 1] == row) {
+                return;
+            }
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = row;
+        }
+
+        void setIn(BitSet bits) {
+            for (int i = 0; i < count; i++) {
+                bits.set(rows[i]);
+            }
+        }
+    }
+
+    /**
+     * Trie node: the rows under this prefix and the next characters
+     * Most nodes have one child, so the arrays start small
+     */
+    private static final class Node extends Rows {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+
+        Node child(char c) {
+            for (int i = 0; i < childCount; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrAdd(char c) {
+            Node child = child(c);
+            if (child == null) {
+                if (childCount == keys.length) {
+                    int capacity = Math.max(1, childCount * 2);
+                    keys = Arrays.copyOf(keys, capacity);
+                    children = Arrays.copyOf(children, capacity);
+                }
+                child = new Node();
+                keys[childCount] = c;
+                children[childCount++] = child;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package MyPackage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import javax.swing.RowFilter;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model listing employees' personal details, one row per employee
+ *
+ * Cells are read from the Employee objects when the table paints them, so
+ * no copy of the details is kept. Rows are added with append(), which
+ * TableLoader calls on the Event Dispatch Thread as chunks arrive. Each
+ * added employee also goes into an EmployeeSearchIndex, which filterFor()
+ * uses to filter the table as the user types.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class EmployeeTableModel extends AbstractTableModel {
+    /** Column titles */
+    private static final String[] COLUMNS = {
+        "Name", "Birthday", "Adress", "SSS Number", "PhilHealth Number", "Pag-Ibig Number", "TIN"
+    };
+
+    /** Employees in display order */
+    private final List<Employee> employees = new ArrayList<>();
+    /** Search index over employees, by row */
+    private EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+    /**
+     * Adds employees after the current rows
+     *
+     * @param added Employees to add, in display order
+     */
+    public void append(List<Employee> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        int first = employees.size();
+        employees.addAll(added);
+        for (Employee employee : added) {
+            index.add(employee);
+        }
+        fireTableRowsInserted(first, employees.size() - 1);
+    }
+
+    /**
+     * Removes every row and starts a new search index, e.g. before loading again
+     */
+    public void clear() {
+        employees.clear();
+        index = new EmployeeSearchIndex();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Makes a row filter showing the employees that match a search
+     * The matches are found once, from the index; the filter then only
+     * looks up each row. Rows appended later are not matched, so apply a
+     * new filter after appending.
+     *
+     * @param query Starts of name words, or an exact employee #, SSS,
+     *        PhilHealth, TIN or Pag-IBIG number
+     * @return The filter, or null to show every row
+     */
+    public RowFilter<Object, Integer> filterFor(String query) {
+        BitSet matches = index.search(query);
+        if (matches == null) {
+            return null;
+        }
+        return new RowFilter<Object, Integer>() {
+            @Override
+            public boolean include(Entry<?, ? extends Integer> entry) {
+                return matches.get(entry.getIdentifier());
+            }
+        };
+    }
+
+    /**
+     * Gets the employee shown in a row
+     *
+     * @param row The row in model order
+     * @return The employee
+     */
+    public Employee getEmployee(int row) {
+        return employees.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return employees.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Employee employee = employees.get(row);
+        switch (column) {
+            case 0:
+                return employee.getName();
+            case 1:
+                return employee.getBirthday();
+            case 2:
+                return employee.getAddress();
+            case 3:
+                return employee.getSssNumber();
+            case 4:
+                return employee.getPhilHealthNumber();
+            case 5:
+                return employee.getPagIbigNumber();
+            default:
+                return employee.getTin();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package MyPackage;
+
+/**
+ * Utility methods for dates held as primitive epoch days
+ *
+ * An epoch day is the number of days since 1970-01-01, the same count used by
+ * LocalDate.toEpochDay(). Working with plain ints lets the attendance loaders
+ * and stores handle millions of dates without creating LocalDate objects.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class EpochDays {
+    /** Days in each month of a non-leap year */
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private EpochDays() {
+    }
+
+    /**
+     * Converts a calendar date to an epoch day
+     *
+     * @param year The year, e.g. 2024
+     * @param month The month, 1 to 12
+     * @param day The day of month, 1 to 31
+     * @return Days since 1970-01-01
+     */
+    static int of(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Gets the semi-monthly payroll cutoff containing a date
+     * Cutoffs run from the 1st to the 15th and from the 16th to the end of
+     * the month, and are numbered consecutively from 0 for 1970-01-01 to
+     * 1970-01-15
+     *
+     * @param epochDay Days since 1970-01-01
+     * @return The cutoff number
+     */
+    static int cutoffOf(int epochDay) {
+        // Inverse of of(): shift to an era starting on March 1, 0000
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return ((year - 1970) * 12 + month - 1) * 2 + (day > 15 ? 1 : 0);
+    }
+
+    /**
+     * Gets the first day of a payroll cutoff
+     *
+     * @param cutoff The cutoff number, as returned by cutoffOf
+     * @return Days since 1970-01-01
+     */
+    static int cutoffStart(int cutoff) {
+        int months = Math.floorDiv(cutoff, 2);
+        return of(1970 + Math.floorDiv(months, 12), Math.floorMod(months, 12) + 1, (cutoff & 1) == 0 ? 1 : 16);
+    }
+
+    /**
+     * Gets the last day of a payroll cutoff
+     *
+     * @param cutoff The cutoff number, as returned by cutoffOf
+     * @return Days since 1970-01-01
+     */
+    static int cutoffEnd(int cutoff) {
+        return (cutoff & 1) == 0 ? cutoffStart(cutoff) + 14 : cutoffStart(cutoff + 1) - 1;
+    }
+
+    /**
+     * Checks whether the given year, month and day form a real calendar date
+     *
+     * @param year The year
+     * @param month The month
+     * @param day The day of month
+     * @return true if the date exists
+     */
+    static boolean isValid(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        int max = DAYS_IN_MONTH[month - 1];
+        if (month == 2 && isLeapYear(year)) {
+            max = 29;
+        }
+        return day <= max;
+    }
+
+    /**
+     * Checks whether a year is a leap year in the Gregorian calendar
+     *
+     * @param year The year
+     * @return true for leap years
+     */
+    static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
@@ -0,0 +1,168 @@
+package MyPackage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+
+/**
+ * Creates each screen of the MotorPH Payroll System on first use and then
+ * reuses it
+ *
+ * Forms used to be built eagerly in static fields and again with new on
+ * every navigation, so startup ran every initComponents twice and each
+ * click ran one more. Here a form is constructed the first time get() or
+ * show() asks for it; show() then hides the current form instead of
+ * disposing it, so going back keeps the table contents, scroll position
+ * and loaded rows.
+ *
+ * The time and the heap allocated to construct each form are recorded,
+ * logged, and listed by report(). Allocation is measured on the calling
+ * thread, which is the Event Dispatch Thread.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class FormRegistry {
+    private static final Logger LOGGER = Logger.getLogger(FormRegistry.class.getName());
+
+    /** How to construct each form */
+    private static final Map<Class<? extends JFrame>, Supplier<? extends JFrame>> FACTORIES = new HashMap<>();
+    /** Forms constructed so far */
+    private static final Map<Class<? extends JFrame>, JFrame> FORMS = new HashMap<>();
+    /** Construction cost of each form, in creation order */
+    private static final Map<Class<? extends JFrame>, Cost> COSTS = new LinkedHashMap<>();
+
+    static {
+        register(MyGUI.class, MyGUI::new);
+        register(RegisterForm.class, RegisterForm::new);
+        register(EmployeeDetail.class, EmployeeDetail::new);
+        register(empProfile.class, empProfile::new);
+        register(empAttendance.class, empAttendance::new);
+        register(empPayslip.class, empPayslip::new);
+    }
+
+    private FormRegistry() {
+    }
+
+    /**
+     * Sets how a form is constructed
+     *
+     * @param <T> Type of the form
+     * @param type Class of the form
+     * @param factory Constructs the form
+     */
+    static <T extends JFrame> void register(Class<T> type, Supplier<T> factory) {
+        FACTORIES.put(type, factory);
+    }
+
+    /**
+     * Gets a form, constructing it on first use
+     *
+     * @param <T> Type of the form
+     * @param type Class of the form
+     * @return The single instance of the form
+     * @throws IllegalStateException if not called on the Event Dispatch Thread
+     * @throws IllegalArgumentException if the form is not registered
+     */
+    public static <T extends JFrame> T get(Class<T> type) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("Forms must be used on the Event Dispatch Thread");
+        }
+        JFrame form = FORMS.get(type);
+        if (form == null) {
+            form = create(type);
+            FORMS.put(type, form);
+        }
+        return type.cast(form);
+    }
+
+    /**
+     * Moves from one form to another: hides the current form and shows
+     * the next, constructing it on first use
+     *
+     * @param <T> Type of the next form
+     * @param current Form being left, or null
+     * @param type Class of the form to show
+     * @return The form shown
+     */
+    public static <T extends JFrame> T show(JFrame current, Class<T> type) {
+        T next = get(type);
+        if (current != null && current != next) {
+            current.setVisible(false);
+        }
+        next.setVisible(true);
+        return next;
+    }
+
+    /**
+     * Lists the construction time and heap allocated of each form created so far
+     *
+     * @return One line per form, in creation order
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<Class<? extends JFrame>, Cost> entry : COSTS.entrySet()) {
+            report.append(entry.getKey().getSimpleName()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static JFrame create(Class<? extends JFrame> type) {
+        Supplier<? extends JFrame> factory = FACTORIES.get(type);
+        if (factory == null) {
+            throw new IllegalArgumentException("Form not registered: " + type.getName());
+        }
+        long allocatedBefore = allocatedBytes();
+        long started = System.nanoTime();
+        JFrame form = factory.get();
+        long nanos = System.nanoTime() - started;
+        long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+        Cost cost = new Cost(nanos, allocated);
+        COSTS.put(type, cost);
+        LOGGER.info(() -> "Created " + type.getSimpleName() + ": " + cost);
+        return form;
+    }
+
+    /**
+     * Gets the bytes allocated so far by the current thread
+     *
+     * @return Bytes allocated, or -1 if the JVM does not measure it
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean measured = (com.sun.management.ThreadMXBean) threads;
+            if (measured.isThreadAllocatedMemorySupported() && measured.isThreadAllocatedMemoryEnabled()) {
+                return measured.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Time and heap taken to construct one form
+     */
+    private static final class Cost {
+        final long nanos;
+        final long allocatedBytes;
+
+        Cost(long nanos, long allocatedBytes) {
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            String time = String.format("%.1f ms", nanos / 1e6);
+            return allocatedBytes < 0 ? time : time + String.format(", %,d KB allocated", allocatedBytes / 1024);
+        }
+    }
+}
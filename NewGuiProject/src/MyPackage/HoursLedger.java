@@ -0,0 +1,100 @@
+package MyPackage;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, columnar record of hours added to an employee by hand
+ *
+ * Holds the hours given through Employee.addHoursWorked, for example when
+ * importing saved payroll data that has hours but no login and logout times.
+ * Dates and hours live in two parallel primitive arrays sorted by date.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class HoursLedger {
+    /** Dates in ascending order, as days since 1970-01-01 */
+    private int[] epochDay = new int[4];
+    /** Hours recorded for each date */
+    private double[] hours = new double[4];
+    /** Number of dates in use */
+    private int size;
+
+    /**
+     * Gets the number of dates with hours
+     *
+     * @return The number of dates
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the date of an entry
+     *
+     * @param index Position of the entry
+     * @return The date as days since 1970-01-01
+     */
+    int epochDay(int index) {
+        return epochDay[index];
+    }
+
+    /**
+     * Gets the hours of an entry
+     *
+     * @param index Position of the entry
+     * @return The hours recorded
+     */
+    double hours(int index) {
+        return hours[index];
+    }
+
+    /**
+     * Finds the position of a date
+     *
+     * @param day The date as days since 1970-01-01
+     * @return Position of the entry, or -1 if the date has no hours
+     */
+    int indexOf(int day) {
+        int index = Arrays.binarySearch(epochDay, 0, size, day);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Adds hours to a date, creating the entry if needed
+     *
+     * @param day The date as days since 1970-01-01
+     * @param amount Hours to add
+     */
+    void add(int day, double amount) {
+        int index = Arrays.binarySearch(epochDay, 0, size, day);
+        if (index >= 0) {
+            hours[index] += amount;
+            return;
+        }
+        index = -index - 1;
+        if (size == epochDay.length) {
+            epochDay = Arrays.copyOf(epochDay, size * 2);
+            hours = Arrays.copyOf(hours, size * 2);
+        }
+        System.arraycopy(epochDay, index, epochDay, index + 1, size - index);
+        System.arraycopy(hours, index, hours, index + 1, size - index);
+        epochDay[index] = day;
+        hours[index] = amount;
+        size++;
+    }
+
+    /**
+     * Removes the entry for a date, if any
+     *
+     * @param day The date as days since 1970-01-01
+     */
+    void remove(int day) {
+        int index = indexOf(day);
+        if (index >= 0) {
+            System.arraycopy(epochDay, index + 1, epochDay, index, size - index - 1);
+            System.arraycopy(hours, index + 1, hours, index, size - index - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package MyPackage;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs a screen's computation in the background where only the latest
+ * request counts
+ *
+ * Each submit() cancels the request still in flight, interrupting it if
+ * it has started, and numbers the new one. When a computation finishes,
+ * its result, or the exception it threw, is handed to the Event Dispatch
+ * Thread and applied only if no newer request was submitted in the
+ * meantime, so a slow old result can never overwrite a newer one, and a
+ * failure is never left showing the previous result. A cancelled
+ * computation reports nothing. The Event Dispatch Thread only submits
+ * and applies, so the screen stays responsive however fast requests come.
+ *
+ * Computations run one at a time on a daemon thread owned by this object.
+ * submit() and cancel() must be called on the Event Dispatch Thread.
+ *
+ * @param <T> Type of the result
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class LatestTask<T> {
+    private static final Logger LOGGER = Logger.getLogger(LatestTask.class.getName());
+
+    /** Runs the computations */
+    private final ExecutorService executor;
+    /** Number of the latest request; read by the Event Dispatch Thread only */
+    private long latest;
+    /** Latest request, or null */
+    private Future<?> inFlight;
+
+    /**
+     * Creates a task runner with its own background thread
+     *
+     * @param name Name of the background thread
+     */
+    public LatestTask(String name) {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a computation, cancelling the previous one
+     *
+     * @param computation Computes the result on the background thread
+     * @param apply Receives the result on the Event Dispatch Thread if this is still the latest request
+     * @param fail Receives the exception thrown by the computation, on the Event Dispatch Thread, if this is
+     *        still the latest request
+     */
+    public void submit(Callable<? extends T> computation, Consumer<? super T> apply, Consumer<? super Exception> fail) {
+        cancel();
+        long request = latest;
+        inFlight = executor.submit(() -> {
+            T result;
+            try {
+                result = computation.call();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    LOGGER.log(Level.SEVERE, "Background computation failed", e);
+                    deliver(request, () -> fail.accept(e));
+                }
+                return;
+            }
+            if (!Thread.currentThread().isInterrupted()) {
+                deliver(request, () -> apply.accept(result));
+            }
+        });
+    }
+
+    /**
+     * Runs an outcome on the Event Dispatch Thread if its request is still the latest
+     */
+    private void deliver(long request, Runnable outcome) {
+        SwingUtilities.invokeLater(() -> {
+            if (request == latest) {
+                inFlight = null;
+                outcome.run();
+            }
+        });
+    }
+
+    /**
+     * Cancels the request in flight, if any; its result will not be applied
+     */
+    public void cancel() {
+        latest++;
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+}
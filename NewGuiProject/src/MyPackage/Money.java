@@ -0,0 +1,198 @@
+package MyPackage;
+
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point peso arithmetic on whole centavos held in a long
+ *
+ * Payroll amounts are exact decimals with two places, which a double can
+ * only approximate: 10833.33 is stored as 10833.3299999999999..., and a
+ * sum of many such values drifts. This class keeps amounts as a count of
+ * centavos instead:
+ * - Addition, subtraction and multiplication by a whole number are exact
+ *   and throw ArithmeticException on overflow, like Math.addExact
+ * - Every division states its RoundingMode, with the same meaning as in
+ *   BigDecimal, so a rate or a pro-rated amount rounds exactly once
+ * - Rates are given as basis points (hundredths of a percent), e.g. 400
+ *   for 4%, so they are exact too
+ *
+ * All methods are static and work on primitives, so no object is created
+ * per amount, unlike BigDecimal. Doubles appear only at the edges, through
+ * ofPesos and toPesos.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class Money {
+    /** Centavos in one peso */
+    public static final long CENTAVOS_PER_PESO = 100;
+
+    /** Basis points in a whole, i.e. 100% */
+    public static final long BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Converts an amount in pesos to centavos, rounding half up
+     * Amounts that are already whole centavos, such as 535.71, convert exactly
+     *
+     * @param pesos The amount in pesos
+     * @return The amount in centavos
+     * @throws ArithmeticException if the amount is not finite or does not fit
+     */
+    public static long ofPesos(double pesos) {
+        double centavos = pesos * CENTAVOS_PER_PESO;
+        if (!(Math.abs(centavos) < 0x1p62)) {
+            throw new ArithmeticException("Amount out of range: " + pesos);
+        }
+        // Math.round rounds ties towards positive infinity; mirror it for
+        // negative amounts so that ties round away from zero, as HALF_UP does
+        return centavos < 0 ? -Math.round(-centavos) : Math.round(centavos);
+    }
+
+    /**
+     * Converts centavos to the nearest double amount in pesos
+     *
+     * @param centavos The amount in centavos
+     * @return The amount in pesos
+     */
+    public static double toPesos(long centavos) {
+        return centavos / (double) CENTAVOS_PER_PESO;
+    }
+
+    /**
+     * Adds two amounts
+     *
+     * @param a First amount in centavos
+     * @param b Second amount in centavos
+     * @return The sum in centavos
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Subtracts one amount from another
+     *
+     * @param a Amount in centavos to subtract from
+     * @param b Amount in centavos to subtract
+     * @return The difference in centavos
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Multiplies an amount by a whole number, e.g. a daily rate by days
+     *
+     * @param centavos The amount in centavos
+     * @param factor The whole number to multiply by
+     * @return The product in centavos
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long multiply(long centavos, long factor) {
+        return Math.multiplyExact(centavos, factor);
+    }
+
+    /**
+     * Multiplies an amount by the fraction numerator / denominator,
+     * rounding the exact result once
+     *
+     * @param centavos The amount in centavos
+     * @param numerator Numerator of the fraction
+     * @param denominator Denominator of the fraction, not zero
+     * @param mode How to round a result that is not a whole centavo
+     * @return The scaled amount in centavos
+     * @throws ArithmeticException if the result overflows, the denominator
+     *         is zero, or mode is UNNECESSARY and rounding is needed
+     */
+    public static long scale(long centavos, long numerator, long denominator, RoundingMode mode) {
+        return divide(Math.multiplyExact(centavos, numerator), denominator, mode);
+    }
+
+    /**
+     * Takes a percentage of an amount
+     *
+     * @param centavos The amount in centavos
+     * @param basisPoints The rate in hundredths of a percent, e.g. 400 for 4%
+     * @param mode How to round a result that is not a whole centavo
+     * @return The percentage in centavos
+     * @throws ArithmeticException if the result overflows, or mode is
+     *         UNNECESSARY and rounding is needed
+     */
+    public static long percent(long centavos, long basisPoints, RoundingMode mode) {
+        return scale(centavos, basisPoints, BASIS_POINTS, mode);
+    }
+
+    /**
+     * Divides two whole numbers, rounding the exact quotient
+     *
+     * @param dividend The dividend
+     * @param divisor The divisor, not zero
+     * @param mode How to round a quotient that is not whole
+     * @return The rounded quotient
+     * @throws ArithmeticException if the divisor is zero, or mode is
+     *         UNNECESSARY and rounding is needed
+     */
+    public static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // The exact quotient lies strictly between quotient and quotient + signum
+        int signum = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        boolean awayFromZero;
+        switch (mode) {
+            case UP:
+                awayFromZero = true;
+                break;
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case CEILING:
+                awayFromZero = signum > 0;
+                break;
+            case FLOOR:
+                awayFromZero = signum < 0;
+                break;
+            case HALF_UP:
+            case HALF_DOWN:
+            case HALF_EVEN: {
+                // Compare twice the remainder with the divisor without overflow
+                long r = Math.abs(remainder);
+                long d = Math.abs(divisor);
+                int half = Long.compare(r, d - r);
+                if (half != 0) {
+                    awayFromZero = half > 0;
+                } else if (mode == RoundingMode.HALF_UP) {
+                    awayFromZero = true;
+                } else if (mode == RoundingMode.HALF_DOWN) {
+                    awayFromZero = false;
+                } else {
+                    awayFromZero = (quotient & 1) != 0;
+                }
+                break;
+            }
+            case UNNECESSARY:
+            default:
+                throw new ArithmeticException("Rounding needed: " + dividend + " / " + divisor);
+        }
+        return awayFromZero ? quotient + signum : quotient;
+    }
+
+    /**
+     * Formats an amount as pesos with two decimals, e.g. "-1234.05"
+     *
+     * @param centavos The amount in centavos
+     * @return The amount as text
+     */
+    public static String toString(long centavos) {
+        long whole = Math.abs(centavos / CENTAVOS_PER_PESO);
+        long cents = Math.abs(centavos % CENTAVOS_PER_PESO);
+        return (centavos < 0 ? "-" : "") + whole + (cents < 10 ? ".0" : ".") + cents;
+    }
+}
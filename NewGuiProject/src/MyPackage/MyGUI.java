@@ -12,10 +12,6 @@ import javax.swing.JOptionPane;
  * @author HP-VICTUS
  */
 public class MyGUI extends javax.swing.JFrame {
-    public static EmployeeDetail detail = new EmployeeDetail();
-    
-    
-    
     /**
      * Creates new form MyGUI
      */
@@ -164,10 +160,9 @@ public class MyGUI extends javax.swing.JFrame {
     String jPassword = "1234";
 
     if (username.equals(jUser) && password.equals(jPassword)) {
-        // Login success: Open Profile form
-        EmployeeDetail detail = new EmployeeDetail();
-        detail.setVisible(true);
-        this.dispose(); // Close login window
+        // Login success: Open Profile form, keeping this one for the next login
+        this.jPassword.setText("");
+        FormRegistry.show(this, EmployeeDetail.class);
     } else {
         // Login failed: Show error message
         JOptionPane.showMessageDialog(this, "Invalid username or password.", 
@@ -178,7 +173,7 @@ public class MyGUI extends javax.swing.JFrame {
     }//GEN-LAST:event_bLogin1ActionPerformed
 
     private void jButton1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton1ActionPerformed
-        RegisterForm rgf = new RegisterForm();
+        RegisterForm rgf = FormRegistry.get(RegisterForm.class);
         rgf.setVisible(true);
         rgf.pack();
         rgf.setLocationRelativeTo(null);
@@ -215,10 +210,18 @@ public class MyGUI extends javax.swing.JFrame {
         }
         //</editor-fold>
 
+        /* Load employee and attendance data from the snapshot, or the CSV files if it is stale */
+        try {
+            PayrollData.load();
+            PayrollData.watchAttendance();
+        } catch (RuntimeException ex) {
+            java.util.logging.Logger.getLogger(MyGUI.class.getName()).log(java.util.logging.Level.SEVERE, "Unable to load payroll data", ex);
+        }
+
         /* Create and display the form */
         java.awt.EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new MyGUI().setVisible(true);
+                FormRegistry.show(null, MyGUI.class);
             }
         });
     }
@@ -1,3 +1,5 @@
+package MyPackage;
+
 import java.time.LocalDate;
 
 /**
@@ -38,4 +40,30 @@ public interface Payable {
      * @return Tax deduction amount
      */
     double calculateTaxDeduction(double grossPay);
+    
+    /**
+     * Calculates basic government deductions for many gross pays at once
+     * Each result equals calculateBasicDeduction for the same gross pay
+     * 
+     * @param grossPays The gross pay amounts
+     * @param result Receives the deduction at the same index as each amount
+     */
+    default void calculateBasicDeductions(double[] grossPays, double[] result) {
+        for (int i = 0; i < grossPays.length; i++) {
+            result[i] = calculateBasicDeduction(grossPays[i]);
+        }
+    }
+    
+    /**
+     * Calculates tax deductions for many gross pays at once
+     * Each result equals calculateTaxDeduction for the same gross pay
+     * 
+     * @param grossPays The gross pay amounts
+     * @param result Receives the deduction at the same index as each amount
+     */
+    default void calculateTaxDeductions(double[] grossPays, double[] result) {
+        for (int i = 0; i < grossPays.length; i++) {
+            result[i] = calculateTaxDeduction(grossPays[i]);
+        }
+    }
 } 
\ No newline at end of file
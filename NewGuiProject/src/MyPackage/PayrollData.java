@@ -0,0 +1,252 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the employee data shared by the forms of the MotorPH Payroll System
+ *
+ * The data is loaded once at startup, normally through SnapshotStorage,
+ * and then read by every form instead of each form reloading the files.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class PayrollData {
+    private static final Logger LOGGER = Logger.getLogger(PayrollData.class.getName());
+
+    /** Employees with their attendance, in master file order */
+    private static volatile List<Employee> employees = Collections.emptyList();
+    /** Lookup by employee number over employees */
+    private static volatile EmployeeIndex index = new EmployeeIndex(Collections.emptyList());
+    /** Journal that makes new clock events durable; null until load() */
+    private static volatile AttendanceJournal journal;
+    /** Snapshot the journal is checkpointed into; null unless loaded through load() */
+    private static volatile SnapshotStorage snapshot;
+    /** Run whenever the journal or the reloader changed attendance */
+    private static final List<Runnable> ATTENDANCE_LISTENERS = new CopyOnWriteArrayList<>();
+    /** Reloader applying rows appended to the attendance file; null until watchAttendance() */
+    private static volatile AttendanceTailReloader reloader;
+
+    private PayrollData() {
+    }
+
+    /**
+     * Loads employees from the binary snapshot, falling back to the CSV files
+     * when the snapshot is missing or stale
+     *
+     * @return The loaded employees
+     */
+    public static List<Employee> load() {
+        SnapshotStorage storage = new SnapshotStorage();
+        List<Employee> loaded = load(storage);
+        snapshot = storage;
+        openJournal(AttendanceJournal.DEFAULT_FILE_PATH);
+        return loaded;
+    }
+
+    /**
+     * Loads employees from the given storage and makes them the shared data
+     *
+     * @param storage Storage to load from
+     * @return The loaded employees
+     */
+    public static List<Employee> load(FileStorage<Employee> storage) {
+        List<Employee> loaded = Collections.unmodifiableList(storage.load());
+        index = new EmployeeIndex(loaded);
+        employees = loaded;
+        return loaded;
+    }
+
+    /**
+     * Opens the clock event journal and replays it over the shared employees
+     * Events the snapshot does not hold yet, all of them after a CSV import,
+     * are applied again and then checkpointed, and the journal is
+     * checkpointed once more when the application exits
+     * A journal opened before is closed first, so its queued events are
+     * on disk before the file is replayed
+     *
+     * @param filePath Path of the journal file
+     * @return The open journal
+     */
+    public static synchronized AttendanceJournal openJournal(String filePath) {
+        AttendanceJournal previous = journal;
+        if (previous != null) {
+            try {
+                previous.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Unable to close attendance journal " + previous.getFilePath(), e);
+            }
+        }
+        AttendanceJournal opened = new AttendanceJournal(filePath, PayrollData::attendanceChanged);
+        SnapshotStorage storage = snapshot;
+        opened.replay(employees, storage == null ? 0 : storage.getJournalOffset());
+        checkpoint(opened);
+        if (journal == null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(PayrollData::checkpoint, "payroll-checkpoint"));
+        }
+        journal = opened;
+        return opened;
+    }
+
+    /**
+     * Saves the shared employees to the snapshot if clock events were
+     * journaled, or attendance rows applied by the reloader, since it was saved
+     * Does nothing when the data was not loaded through load()
+     */
+    public static void checkpoint() {
+        AttendanceJournal current = journal;
+        if (current != null) {
+            checkpoint(current);
+        }
+    }
+
+    private static void checkpoint(AttendanceJournal current) {
+        SnapshotStorage storage = snapshot;
+        if (storage == null) {
+            return;
+        }
+        List<Employee> saved = employees;
+        try {
+            current.checkpoint(journalEnd -> {
+                // Read before the employees are written: rows applied meanwhile are only applied again on load
+                AttendanceTailReloader watching = reloader;
+                AttendanceFileMark mark = watching == null ? storage.getAttendanceMark() : watching.getMark();
+                if (journalEnd != storage.getJournalOffset() || !mark.equals(storage.getAttendanceMark())) {
+                    storage.save(saved, mark, journalEnd);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The journal still holds the events, so nothing is lost
+            LOGGER.log(Level.WARNING, "Unable to checkpoint attendance journal " + current.getFilePath(), e);
+        }
+    }
+
+    /**
+     * Clocks an employee in at the current time
+     * The event is written to the journal before the employee is updated
+     *
+     * @param employee The employee clocking in
+     * @return Future completed once the event is on disk and applied
+     * @throws IllegalStateException if the journal has not been opened
+     */
+    public static CompletableFuture<Void> clockIn(Employee employee) {
+        LocalDateTime now = LocalDateTime.now();
+        return currentJournal().submitLogin(employee, now.toLocalDate(), now.toLocalTime());
+    }
+
+    /**
+     * Clocks an employee out at the current time
+     * The event is written to the journal before the employee is updated
+     *
+     * @param employee The employee clocking out
+     * @return Future completed once the event is on disk and applied
+     * @throws IllegalStateException if the journal has not been opened
+     */
+    public static CompletableFuture<Void> clockOut(Employee employee) {
+        LocalDateTime now = LocalDateTime.now();
+        return currentJournal().submitLogout(employee, now.toLocalDate(), now.toLocalTime());
+    }
+
+    private static AttendanceJournal currentJournal() {
+        AttendanceJournal current = journal;
+        if (current == null) {
+            throw new IllegalStateException("The attendance journal has not been opened");
+        }
+        return current;
+    }
+
+    /**
+     * Starts applying rows appended to the attendance file the data was
+     * loaded from, the one SnapshotStorage imports
+     * Like the import, this skips a file that does not exist, which is the
+     * case when the application runs from its jar away from the sources
+     *
+     * @return The running reloader, or null if the data was not loaded
+     *         through load() or there is no attendance file to watch
+     */
+    public static AttendanceTailReloader watchAttendance() {
+        SnapshotStorage storage = snapshot;
+        if (storage == null) {
+            return null;
+        }
+        String filePath = storage.getAttendanceFilePath();
+        if (!Files.exists(Paths.get(filePath))) {
+            LOGGER.log(Level.INFO, "Not watching attendance file {0}: it does not exist", filePath);
+            return null;
+        }
+        return watchAttendance(filePath, storage.getAttendanceMark());
+    }
+
+    /**
+     * Starts applying rows that time clocks append to the attendance file
+     * After a full reload of the file, journaled events are applied again
+     *
+     * @param filePath Path of the attendance CSV file
+     * @param applied Rows of the file the shared employees already hold
+     * @return The running reloader
+     */
+    public static synchronized AttendanceTailReloader watchAttendance(String filePath, AttendanceFileMark applied) {
+        if (reloader == null) {
+            AttendanceTailReloader started = new AttendanceTailReloader(filePath, employees, applied,
+                                                                        () -> journal, PayrollData::attendanceChanged);
+            started.start();
+            reloader = started;
+        }
+        return reloader;
+    }
+
+    /**
+     * Registers a listener run after clock events or the attendance file
+     * changed the shared employees' attendance
+     * Listeners run on the journal or reloader thread, so views should hand
+     * the work to the Event Dispatch Thread, e.g. with AttendanceTableModel.refreshLater()
+     *
+     * @param listener The listener
+     */
+    public static void addAttendanceListener(Runnable listener) {
+        ATTENDANCE_LISTENERS.add(listener);
+    }
+
+    /**
+     * Removes a listener added with addAttendanceListener()
+     *
+     * @param listener The listener
+     */
+    public static void removeAttendanceListener(Runnable listener) {
+        ATTENDANCE_LISTENERS.remove(listener);
+    }
+
+    private static void attendanceChanged() {
+        for (Runnable listener : ATTENDANCE_LISTENERS) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Gets the shared employees
+     *
+     * @return Unmodifiable list of employees, empty if nothing was loaded
+     */
+    public static List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Finds a shared employee by employee number without scanning the list
+     *
+     * @param id The employee ID, e.g. "10001"
+     * @return The employee, or null if there is none with that ID
+     */
+    public static Employee findEmployee(String id) {
+        return index.get(id.trim());
+    }
+}
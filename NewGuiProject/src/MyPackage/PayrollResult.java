@@ -0,0 +1,266 @@
+package MyPackage;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Payroll figures for every employee for one pay period
+ *
+ * Produced by PayrollRun. The figures are kept in one primitive array per
+ * column, indexed by the employee's position in the list that was run, so
+ * a result for a large workforce holds no object per employee besides the
+ * shared ID strings. Amounts are stored as whole centavos (see Money); the
+ * peso getters convert on the way out, and totals are summed exactly.
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class PayrollResult {
+    /** Start of the pay period, inclusive */
+    private final LocalDate startDate;
+    /** End of the pay period, inclusive */
+    private final LocalDate endDate;
+    /** Employee IDs, in run order */
+    private final String[] employeeIds;
+    private final long[] grossPay;
+    private final long[] sss;
+    private final long[] philHealth;
+    private final long[] pagIbig;
+    private final long[] tax;
+    private final long[] netPay;
+
+    /**
+     * Wraps the columns filled by PayrollRun; the arrays are not copied
+     */
+    PayrollResult(LocalDate startDate, LocalDate endDate, String[] employeeIds, long[] grossPay,
+                  long[] sss, long[] philHealth, long[] pagIbig, long[] tax, long[] netPay) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.employeeIds = employeeIds;
+        this.grossPay = grossPay;
+        this.sss = sss;
+        this.philHealth = philHealth;
+        this.pagIbig = pagIbig;
+        this.tax = tax;
+        this.netPay = netPay;
+    }
+
+    /**
+     * Gets the start of the pay period
+     *
+     * @return First day of the period
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end of the pay period
+     *
+     * @return Last day of the period
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the number of employees in the result
+     *
+     * @return Number of employees
+     */
+    public int size() {
+        return employeeIds.length;
+    }
+
+    /**
+     * Finds the position of an employee in the result
+     *
+     * @param employeeId The employee ID
+     * @return The position, or -1 if the employee was not part of the run
+     */
+    public int indexOf(String employeeId) {
+        for (int i = 0; i < employeeIds.length; i++) {
+            if (employeeIds[i].equals(employeeId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the ID of the employee at a position
+     *
+     * @param index Position of the employee
+     * @return The employee ID
+     */
+    public String getEmployeeId(int index) {
+        return employeeIds[index];
+    }
+
+    /**
+     * Gets the gross pay of an employee for the period
+     *
+     * @param index Position of the employee
+     * @return Gross pay
+     */
+    public double getGrossPay(int index) {
+        return Money.toPesos(grossPay[index]);
+    }
+
+    /**
+     * Gets the gross pay of an employee for the period in centavos
+     *
+     * @param index Position of the employee
+     * @return The amount in centavos
+     */
+    public long getGrossPayCentavos(int index) {
+        return grossPay[index];
+    }
+
+    /**
+     * Gets the SSS deduction of an employee
+     *
+     * @param index Position of the employee
+     * @return SSS deduction
+     */
+    public double getSssDeduction(int index) {
+        return Money.toPesos(sss[index]);
+    }
+
+    /**
+     * Gets the SSS deduction of an employee in centavos
+     *
+     * @param index Position of the employee
+     * @return The amount in centavos
+     */
+    public long getSssDeductionCentavos(int index) {
+        return sss[index];
+    }
+
+    /**
+     * Gets the PhilHealth deduction of an employee
+     *
+     * @param index Position of the employee
+     * @return PhilHealth deduction
+     */
+    public double getPhilHealthDeduction(int index) {
+        return Money.toPesos(philHealth[index]);
+    }
+
+    /**
+     * Gets the PhilHealth deduction of an employee in centavos
+     *
+     * @param index Position of the employee
+     * @return The amount in centavos
+     */
+    public long getPhilHealthDeductionCentavos(int index) {
+        return philHealth[index];
+    }
+
+    /**
+     * Gets the Pag-IBIG deduction of an employee
+     *
+     * @param index Position of the employee
+     * @return Pag-IBIG deduction
+     */
+    public double getPagIbigDeduction(int index) {
+        return Money.toPesos(pagIbig[index]);
+    }
+
+    /**
+     * Gets the Pag-IBIG deduction of an employee in centavos
+     *
+     * @param index Position of the employee
+     * @return The amount in centavos
+     */
+    public long getPagIbigDeductionCentavos(int index) {
+        return pagIbig[index];
+    }
+
+    /**
+     * Gets the tax deduction of an employee
+     *
+     * @param index Position of the employee
+     * @return Tax deduction
+     */
+    public double getTaxDeduction(int index) {
+        return Money.toPesos(tax[index]);
+    }
+
+    /**
+     * Gets the tax deduction of an employee in centavos
+     *
+     * @param index Position of the employee
+     * @return The amount in centavos
+     */
+    public long getTaxDeductionCentavos(int index) {
+        return tax[index];
+    }
+
+    /**
+     * Gets the total of all deductions for an employee
+     *
+     * @param index Position of the employee
+     * @return SSS, PhilHealth, Pag-IBIG and tax combined
+     */
+    public double getTotalDeductions(int index) {
+        return Money.toPesos(Money.add(Money.add(sss[index], philHealth[index]),
+                                       Money.add(pagIbig[index], tax[index])));
+    }
+
+    /**
+     * Gets the net pay of an employee after all deductions
+     *
+     * @param index Position of the employee
+     * @return Net pay
+     */
+    public double getNetPay(int index) {
+        return Money.toPesos(netPay[index]);
+    }
+
+    /**
+     * Gets the net pay of an employee after all deductions in centavos
+     *
+     * @param index Position of the employee
+     * @return The amount in centavos
+     */
+    public long getNetPayCentavos(int index) {
+        return netPay[index];
+    }
+
+    /**
+     * Gets the gross pay of all employees combined
+     *
+     * @return Total gross pay
+     */
+    public double getTotalGrossPay() {
+        return Money.toPesos(sum(grossPay));
+    }
+
+    /**
+     * Gets the net pay of all employees combined
+     *
+     * @return Total net pay
+     */
+    public double getTotalNetPay() {
+        return Money.toPesos(sum(netPay));
+    }
+
+    /**
+     * Copies the gross pay column, e.g. for a batch deduction calculation
+     *
+     * @return New array of gross pays in centavos, in run order
+     */
+    public long[] grossPays() {
+        return Arrays.copyOf(grossPay, grossPay.length);
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total = Money.add(total, value);
+        }
+        return total;
+    }
+}
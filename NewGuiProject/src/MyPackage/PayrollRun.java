@@ -0,0 +1,142 @@
+package MyPackage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes payroll for a whole workforce for one pay period
+ *
+ * For every employee the run computes gross pay through calculatePay, the
+ * SSS, PhilHealth and Pag-IBIG deductions, the tax deduction on gross pay,
+ * and net pay, giving the same figures as calling the Employee methods one
+ * employee at a time. SSS comes from the contribution table in effect on
+ * the last day of the period, looked up for a whole range at once. Every
+ * figure is computed in whole centavos (see Money).
+ *
+ * The employees are split into ranges on a ForkJoinPool. Each task writes
+ * only its own range of the result columns and only reads employee data,
+ * so no lock is taken.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class PayrollRun {
+    /** Fewest employees computed by one task */
+    private static final int MIN_BATCH = 512;
+
+    /** Pool that runs the payroll tasks */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a payroll run on the common ForkJoinPool
+     */
+    public PayrollRun() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a payroll run on the given pool
+     *
+     * @param pool Pool that runs the payroll tasks
+     */
+    public PayrollRun(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Computes payroll for every employee for the given period
+     *
+     * @param employees Employees to pay; attendance must not change during the run
+     * @param startDate Start date of the period
+     * @param endDate End date of the period
+     * @return Figures for each employee, in list order
+     * @throws IllegalArgumentException if startDate is after endDate
+     */
+    public PayrollResult run(List<Employee> employees, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date " + startDate + " is after end date " + endDate);
+        }
+        Employee[] workforce = employees.toArray(new Employee[0]);
+        int n = workforce.length;
+        Columns columns = new Columns(n, SssContributionTable.forDate(endDate));
+        pool.invoke(new PayTask(workforce, 0, n, startDate, endDate, columns));
+        return new PayrollResult(startDate, endDate, columns.ids, columns.gross, columns.sss,
+            columns.philHealth, columns.pagIbig, columns.tax, columns.net);
+    }
+
+    /**
+     * Result columns shared by the tasks of one run
+     */
+    private static final class Columns {
+        final SssContributionTable sssTable;
+        final String[] ids;
+        final long[] gross;
+        final long[] sss;
+        final long[] philHealth;
+        final long[] pagIbig;
+        final long[] tax;
+        final long[] net;
+
+        Columns(int n, SssContributionTable sssTable) {
+            this.sssTable = sssTable;
+            ids = new String[n];
+            gross = new long[n];
+            sss = new long[n];
+            philHealth = new long[n];
+            pagIbig = new long[n];
+            tax = new long[n];
+            net = new long[n];
+        }
+    }
+
+    /**
+     * Computes payroll for a range of employees
+     */
+    private static final class PayTask extends RecursiveAction {
+        private final Employee[] workforce;
+        private final int from;
+        private final int to;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final Columns columns;
+
+        PayTask(Employee[] workforce, int from, int to, LocalDate startDate, LocalDate endDate, Columns columns) {
+            this.workforce = workforce;
+            this.from = from;
+            this.to = to;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.columns = columns;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > MIN_BATCH) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PayTask(workforce, from, middle, startDate, endDate, columns),
+                    new PayTask(workforce, middle, to, startDate, endDate, columns));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                columns.gross[i] = workforce[i].calculatePayCentavos(startDate, endDate);
+            }
+            columns.sssTable.contributions(columns.gross, columns.sss, from, to);
+            for (int i = from; i < to; i++) {
+                Employee employee = workforce[i];
+                long gross = columns.gross[i];
+                long sss = columns.sss[i];
+                long philHealth = employee.calculatePhilHealthDeductionCentavos(gross);
+                long pagIbig = employee.calculatePagIBIGDeductionCentavos(gross);
+                long tax = employee.calculateTaxDeductionCentavos(gross);
+                columns.ids[i] = employee.getId();
+                columns.philHealth[i] = philHealth;
+                columns.pagIbig[i] = pagIbig;
+                columns.tax[i] = tax;
+                long basic = Money.add(Money.add(sss, philHealth), pagIbig);
+                columns.net[i] = Money.subtract(Money.subtract(gross, basic), tax);
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package MyPackage;
+
+import java.math.RoundingMode;
+
+/**
+ * A set of payroll rules to try out with ScenarioSimulator
+ *
+ * A scenario starts from the rules Employee applies today and changes some
+ * of them, for example "hourly rates up 5%" or "PhilHealth at 5%":
+ * - The hourly rate factor scales every employee's rate
+ * - The PhilHealth rate, Pag-IBIG rate and cap, SSS table and tax bands
+ *   replace the current ones
+ *
+ * Rates are basis points (hundredths of a percent) and amounts centavos,
+ * as in Money. Scenarios are immutable; each with method returns a changed
+ * copy, so one scenario can be the base of several others.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class PayrollScenario {
+    /** Name shown with the results */
+    private final String name;
+    /** Scenario hourly rate as basis points of the current rate; 10,000 keeps it */
+    private final long hourlyRateFactor;
+    /** PhilHealth rate in basis points */
+    private final long philHealthRate;
+    /** Pag-IBIG rate in basis points */
+    private final long pagIbigRate;
+    /** Most Pag-IBIG deducted, in centavos */
+    private final long pagIbigCap;
+    /** SSS table to use, or null for the one in effect at the end of the period */
+    private final SssContributionTable sssTable;
+    /** Lower bound of each tax band in centavos */
+    private final long[] taxThresholds;
+    /** Rate of each tax band in basis points */
+    private final long[] taxRates;
+    /** Tax owed at each lower bound in centavos */
+    private final long[] taxBases;
+
+    private PayrollScenario(String name, long hourlyRateFactor, long philHealthRate, long pagIbigRate,
+                            long pagIbigCap, SssContributionTable sssTable, long[] taxThresholds,
+                            long[] taxRates, long[] taxBases) {
+        this.name = name;
+        this.hourlyRateFactor = hourlyRateFactor;
+        this.philHealthRate = philHealthRate;
+        this.pagIbigRate = pagIbigRate;
+        this.pagIbigCap = pagIbigCap;
+        this.sssTable = sssTable;
+        this.taxThresholds = taxThresholds;
+        this.taxRates = taxRates;
+        this.taxBases = taxBases;
+    }
+
+    /**
+     * Creates a scenario with the rules Employee applies today
+     *
+     * @param name Name shown with the results
+     * @return The scenario
+     */
+    public static PayrollScenario current(String name) {
+        return new PayrollScenario(name, Money.BASIS_POINTS, Employee.PHILHEALTH_RATE, Employee.PAG_IBIG_RATE,
+            Employee.PAG_IBIG_CAP, null, Employee.TAX_THRESHOLDS, Employee.TAX_RATES, Employee.TAX_BASES);
+    }
+
+    /**
+     * Returns a copy with another name
+     *
+     * @param name Name shown with the results
+     * @return The changed scenario
+     */
+    public PayrollScenario named(String name) {
+        return new PayrollScenario(name, hourlyRateFactor, philHealthRate, pagIbigRate, pagIbigCap, sssTable,
+            taxThresholds, taxRates, taxBases);
+    }
+
+    /**
+     * Returns a copy that scales every hourly rate
+     * Each scaled rate is rounded half up to the centavo
+     *
+     * @param basisPoints New rate as basis points of the current one, e.g. 10,500 for a 5% raise
+     * @return The changed scenario
+     * @throws IllegalArgumentException if basisPoints is negative
+     */
+    public PayrollScenario withHourlyRateFactor(long basisPoints) {
+        requireNonNegative("Hourly rate factor", basisPoints);
+        return new PayrollScenario(name, basisPoints, philHealthRate, pagIbigRate, pagIbigCap, sssTable,
+            taxThresholds, taxRates, taxBases);
+    }
+
+    /**
+     * Returns a copy with another PhilHealth rate
+     *
+     * @param basisPoints The rate, e.g. 500 for 5%
+     * @return The changed scenario
+     * @throws IllegalArgumentException if basisPoints is negative
+     */
+    public PayrollScenario withPhilHealthRate(long basisPoints) {
+        requireNonNegative("PhilHealth rate", basisPoints);
+        return new PayrollScenario(name, hourlyRateFactor, basisPoints, pagIbigRate, pagIbigCap, sssTable,
+            taxThresholds, taxRates, taxBases);
+    }
+
+    /**
+     * Returns a copy with another Pag-IBIG rate and cap
+     *
+     * @param basisPoints The rate, e.g. 200 for 2%
+     * @param capCentavos Most deducted per period, in centavos
+     * @return The changed scenario
+     * @throws IllegalArgumentException if either value is negative
+     */
+    public PayrollScenario withPagIbig(long basisPoints, long capCentavos) {
+        requireNonNegative("Pag-IBIG rate", basisPoints);
+        requireNonNegative("Pag-IBIG cap", capCentavos);
+        return new PayrollScenario(name, hourlyRateFactor, philHealthRate, basisPoints, capCentavos, sssTable,
+            taxThresholds, taxRates, taxBases);
+    }
+
+    /**
+     * Returns a copy with another SSS contribution table
+     *
+     * @param table The table, or null for the one in effect at the end of the period
+     * @return The changed scenario
+     */
+    public PayrollScenario withSssTable(SssContributionTable table) {
+        return new PayrollScenario(name, hourlyRateFactor, philHealthRate, pagIbigRate, pagIbigCap, table,
+            taxThresholds, taxRates, taxBases);
+    }
+
+    /**
+     * Returns a copy with other tax bands
+     * Nothing is owed up to the first threshold; above it, the tax is the
+     * base of the band plus its rate on the income above its threshold
+     *
+     * @param thresholds Lower bound of each band in centavos, strictly ascending
+     * @param rates Rate of each band in basis points
+     * @param bases Tax owed at each lower bound in centavos
+     * @return The changed scenario
+     * @throws IllegalArgumentException if the arrays are empty, differ in length or are out of order
+     */
+    public PayrollScenario withTaxBands(long[] thresholds, long[] rates, long[] bases) {
+        if (thresholds.length == 0 || rates.length != thresholds.length || bases.length != thresholds.length) {
+            throw new IllegalArgumentException("Tax bands need one threshold, rate and base per band");
+        }
+        for (int i = 0; i < thresholds.length; i++) {
+            requireNonNegative("Tax rate", rates[i]);
+            if (i > 0 && thresholds[i] <= thresholds[i - 1]) {
+                throw new IllegalArgumentException("Tax thresholds out of order at " + thresholds[i]);
+            }
+        }
+        return new PayrollScenario(name, hourlyRateFactor, philHealthRate, pagIbigRate, pagIbigCap, sssTable,
+            thresholds.clone(), rates.clone(), bases.clone());
+    }
+
+    /**
+     * Gets the name shown with the results
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the hourly rate factor
+     *
+     * @return Scenario rate as basis points of the current rate
+     */
+    public long getHourlyRateFactor() {
+        return hourlyRateFactor;
+    }
+
+    /**
+     * Gets the PhilHealth rate
+     *
+     * @return The rate in basis points
+     */
+    public long getPhilHealthRate() {
+        return philHealthRate;
+    }
+
+    /**
+     * Gets the Pag-IBIG rate
+     *
+     * @return The rate in basis points
+     */
+    public long getPagIbigRate() {
+        return pagIbigRate;
+    }
+
+    /**
+     * Gets the Pag-IBIG cap
+     *
+     * @return Most deducted per period, in centavos
+     */
+    public long getPagIbigCap() {
+        return pagIbigCap;
+    }
+
+    /**
+     * Gets the SSS table to use
+     *
+     * @param fallback Table in effect at the end of the period
+     * @return The scenario's table, or fallback if it has none
+     */
+    SssContributionTable sssTable(SssContributionTable fallback) {
+        return sssTable != null ? sssTable : fallback;
+    }
+
+    /**
+     * Applies the hourly rate factor to a current rate
+     *
+     * @param rate Current hourly rate in centavos
+     * @return Scenario hourly rate in centavos
+     */
+    long hourlyRate(long rate) {
+        return hourlyRateFactor == Money.BASIS_POINTS ? rate : Money.percent(rate, hourlyRateFactor, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Computes PhilHealth on a gross pay in centavos
+     */
+    long philHealth(long grossPay) {
+        return Money.percent(grossPay, philHealthRate, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Computes Pag-IBIG on a gross pay in centavos
+     */
+    long pagIbig(long grossPay) {
+        return Math.min(Money.percent(grossPay, pagIbigRate, RoundingMode.HALF_UP), pagIbigCap);
+    }
+
+    /**
+     * Computes tax on a gross pay in centavos
+     */
+    long tax(long grossPay) {
+        return Employee.taxDeduction(grossPay, taxThresholds, taxRates, taxBases);
+    }
+
+    private static void requireNonNegative(String what, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(what + " must not be negative: " + value);
+        }
+    }
+}
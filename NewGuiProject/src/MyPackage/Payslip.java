@@ -0,0 +1,289 @@
+package MyPackage;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * One employee's payslip figures for a date range
+ *
+ * Returned by Employee.getPayslip, which reads only the attendance days in
+ * the range. Net pay is basic pay plus allowances minus SSS, PhilHealth,
+ * Pag-IBIG and withholding tax. The late, overtime, holiday and leave
+ * amounts show what those minutes or days are worth at the hourly rate;
+ * basic pay already reflects the hours actually worked, so they are not
+ * added again. Amounts are in centavos (see Money).
+ *
+ * A payslip is a snapshot and does not change when more attendance is
+ * recorded.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class Payslip {
+    /** Minute of the day the shift starts, 8:00; a later login counts as late */
+    static final int SHIFT_START_MINUTE = 8 * 60;
+    /** Minute of the day the shift ends, 17:00; a later logout counts as overtime */
+    static final int SHIFT_END_MINUTE = 17 * 60;
+    /** Paid minutes in one workday, used to value holidays and leave */
+    static final int WORKDAY_MINUTES = 8 * 60;
+
+    /** Employee ID */
+    private final String employeeId;
+    /** Employee name */
+    private final String name;
+    /** First day of the range */
+    private final LocalDate startDate;
+    /** Last day of the range */
+    private final LocalDate endDate;
+    /** Hourly rate in centavos */
+    private final long hourlyRate;
+    /** Minutes paid for, as in calculatePay */
+    private final long minutesWorked;
+    /** Minutes logged in after the shift start */
+    private final long lateMinutes;
+    /** Minutes logged out after the shift end */
+    private final long overtimeMinutes;
+    /** Holidays falling on a weekday */
+    private final long holidays;
+    /** Workdays without attendance */
+    private final long leaveDays;
+    /** Pay for minutesWorked */
+    private final long basicPay;
+    private final long riceSubsidy;
+    private final long phoneAllowance;
+    private final long clothingAllowance;
+    private final long sss;
+    private final long philHealth;
+    private final long pagIbig;
+    private final long tax;
+
+    Payslip(Employee employee, LocalDate startDate, LocalDate endDate, long hourlyRate,
+            long minutesWorked, long lateMinutes, long overtimeMinutes, long holidays, long leaveDays,
+            long basicPay, long riceSubsidy, long phoneAllowance, long clothingAllowance,
+            long sss, long philHealth, long pagIbig, long tax) {
+        this.employeeId = employee.getId();
+        this.name = employee.getName();
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.hourlyRate = hourlyRate;
+        this.minutesWorked = minutesWorked;
+        this.lateMinutes = lateMinutes;
+        this.overtimeMinutes = overtimeMinutes;
+        this.holidays = holidays;
+        this.leaveDays = leaveDays;
+        this.basicPay = basicPay;
+        this.riceSubsidy = riceSubsidy;
+        this.phoneAllowance = phoneAllowance;
+        this.clothingAllowance = clothingAllowance;
+        this.sss = sss;
+        this.philHealth = philHealth;
+        this.pagIbig = pagIbig;
+        this.tax = tax;
+    }
+
+    /**
+     * Gets the employee ID
+     *
+     * @return The employee ID
+     */
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Gets the employee's full name
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the first day of the range
+     *
+     * @return Start date
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the last day of the range
+     *
+     * @return End date
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the hours paid for; estimated from the workdays when the range
+     * has no attendance, as calculatePay does
+     *
+     * @return Hours worked
+     */
+    public double getHoursWorked() {
+        return minutesWorked / 60.0;
+    }
+
+    /**
+     * Gets the minutes logged in after the start of the shift
+     *
+     * @return Minutes late
+     */
+    public long getLateMinutes() {
+        return lateMinutes;
+    }
+
+    /**
+     * Gets the minutes logged out after the end of the shift
+     *
+     * @return Overtime minutes
+     */
+    public long getOvertimeMinutes() {
+        return overtimeMinutes;
+    }
+
+    /**
+     * Gets the number of holidays in the range that fall on a weekday
+     *
+     * @return Holidays
+     */
+    public long getHolidays() {
+        return holidays;
+    }
+
+    /**
+     * Gets the number of workdays in the range without attendance
+     *
+     * @return Leave days, 0 when the range has no attendance at all
+     */
+    public long getLeaveDays() {
+        return leaveDays;
+    }
+
+    /**
+     * Gets the pay for the hours worked, before allowances and deductions
+     *
+     * @return Basic pay in centavos
+     */
+    public long getBasicPayCentavos() {
+        return basicPay;
+    }
+
+    /**
+     * Gets the minutes late valued at the hourly rate
+     *
+     * @return Amount in centavos
+     */
+    public long getLateAmountCentavos() {
+        return atHourlyRate(lateMinutes);
+    }
+
+    /**
+     * Gets the overtime minutes valued at the hourly rate
+     *
+     * @return Amount in centavos
+     */
+    public long getOvertimeAmountCentavos() {
+        return atHourlyRate(overtimeMinutes);
+    }
+
+    /**
+     * Gets the holidays valued at a workday each
+     *
+     * @return Amount in centavos
+     */
+    public long getHolidayAmountCentavos() {
+        return atHourlyRate(Math.multiplyExact(holidays, WORKDAY_MINUTES));
+    }
+
+    /**
+     * Gets the leave days valued at a workday each
+     *
+     * @return Amount in centavos
+     */
+    public long getLeaveAmountCentavos() {
+        return atHourlyRate(Math.multiplyExact(leaveDays, WORKDAY_MINUTES));
+    }
+
+    /**
+     * Gets the rice subsidy for the range
+     *
+     * @return Amount in centavos
+     */
+    public long getRiceSubsidyCentavos() {
+        return riceSubsidy;
+    }
+
+    /**
+     * Gets the phone allowance for the range
+     *
+     * @return Amount in centavos
+     */
+    public long getPhoneAllowanceCentavos() {
+        return phoneAllowance;
+    }
+
+    /**
+     * Gets the clothing allowance for the range
+     *
+     * @return Amount in centavos
+     */
+    public long getClothingAllowanceCentavos() {
+        return clothingAllowance;
+    }
+
+    /**
+     * Gets the SSS contribution
+     *
+     * @return Amount in centavos
+     */
+    public long getSssCentavos() {
+        return sss;
+    }
+
+    /**
+     * Gets the PhilHealth contribution
+     *
+     * @return Amount in centavos
+     */
+    public long getPhilHealthCentavos() {
+        return philHealth;
+    }
+
+    /**
+     * Gets the Pag-IBIG contribution
+     *
+     * @return Amount in centavos
+     */
+    public long getPagIbigCentavos() {
+        return pagIbig;
+    }
+
+    /**
+     * Gets the withholding tax
+     *
+     * @return Amount in centavos
+     */
+    public long getTaxCentavos() {
+        return tax;
+    }
+
+    /**
+     * Gets the net pay: basic pay plus allowances minus deductions
+     *
+     * @return Net pay in centavos
+     * @throws ArithmeticException if the result overflows
+     */
+    public long getNetPayCentavos() {
+        long allowances = Money.add(Money.add(riceSubsidy, phoneAllowance), clothingAllowance);
+        long deductions = Money.add(Money.add(Money.add(sss, philHealth), pagIbig), tax);
+        return Money.subtract(Money.add(basicPay, allowances), deductions);
+    }
+
+    private long atHourlyRate(long minutes) {
+        return Money.scale(hourlyRate, minutes, 60, RoundingMode.HALF_UP);
+    }
+}
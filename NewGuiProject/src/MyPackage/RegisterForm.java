@@ -262,7 +262,7 @@ public class RegisterForm extends javax.swing.JFrame {
         /* Create and display the form */
         java.awt.EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new RegisterForm().setVisible(true);
+                FormRegistry.show(null, RegisterForm.class);
             }
         });
     }
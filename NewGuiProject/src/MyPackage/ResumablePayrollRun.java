@@ -0,0 +1,412 @@
+package MyPackage;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Payroll run over a large workforce that survives a crash or a cancel
+ *
+ * The employees are processed in chunks of a fixed size, each through
+ * PayrollRun, so every figure comes from Employee.calculatePayCentavos and
+ * the deduction methods exactly as in an uninterrupted run. After each
+ * chunk:
+ * - Its result columns are written to a chunk file
+ * - A checkpoint file records how many chunks are complete
+ *
+ * Both are written to a temporary file, forced to disk and moved into
+ * place, so a crash leaves either the old or the new file. Running the same
+ * period again resumes after the last checkpoint. A chunk is only reused
+ * when its stored checksum of the inputs (employee IDs, hourly rates and
+ * attendance within the period, the period, the holidays within it and the
+ * brackets of the SSS table) still matches, so attendance, holidays or
+ * contributions edited between the crash and the resume are recomputed,
+ * and the final result is identical to a run that was never interrupted.
+ *
+ * Files live in a directory per pay period under the given directory and
+ * are deleted once the run completes. Interrupting the running thread stops
+ * the run after the current chunk with a CancellationException.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class ResumablePayrollRun {
+    /** Default location of the checkpoints, relative to the project directory */
+    public static final String DEFAULT_DIRECTORY = "motorph-payroll-runs";
+    /** Default number of employees per chunk */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    /** Identifies a checkpoint file: "MPHC" */
+    private static final int CHECKPOINT_MAGIC = 0x4348504D;
+    /** Identifies a chunk file: "MPHK" */
+    private static final int CHUNK_MAGIC = 0x4B48504D;
+    /** Format version; bump whenever a layout or a computation changes */
+    private static final int VERSION = 2;
+    /** Result columns per employee: gross, SSS, PhilHealth, Pag-IBIG, tax, net */
+    private static final int COLUMNS = 6;
+    /** Checkpoint layout: magic, version, start, end, employees, chunk size, ID checksum, chunks done, CRC */
+    private static final int CHECKPOINT_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 8 + 4 + 8;
+    /** Chunk header: magic, version, chunk index, employee count, input checksum */
+    private static final int CHUNK_HEADER_BYTES = 4 + 4 + 4 + 4 + 8;
+
+    private static final Logger LOGGER = Logger.getLogger(ResumablePayrollRun.class.getName());
+
+    /** Directory holding one subdirectory per pay period */
+    private final Path directory;
+    /** Number of employees per chunk */
+    private final int chunkSize;
+    /** Computes each chunk */
+    private final PayrollRun payrollRun;
+
+    /**
+     * Constructs a resumable run in the default directory and chunk size
+     */
+    public ResumablePayrollRun() {
+        this(Path.of(DEFAULT_DIRECTORY), DEFAULT_CHUNK_SIZE, new PayrollRun());
+    }
+
+    /**
+     * Constructs a resumable run
+     *
+     * @param directory Directory holding the checkpoints
+     * @param chunkSize Number of employees per chunk
+     * @param payrollRun Computes each chunk
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public ResumablePayrollRun(Path directory, int chunkSize, PayrollRun payrollRun) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.payrollRun = payrollRun;
+    }
+
+    /**
+     * Computes payroll for every employee for the given period, resuming
+     * from the last checkpoint of an earlier run of the same period
+     *
+     * @param employees Employees to pay; attendance must not change during the run
+     * @param startDate Start date of the period
+     * @param endDate End date of the period
+     * @return Figures for each employee, in list order
+     * @throws IllegalArgumentException if startDate is after endDate
+     * @throws UncheckedIOException if a checkpoint cannot be written
+     * @throws CancellationException if the thread was interrupted; the
+     *         completed chunks are kept for the next run
+     */
+    public PayrollResult run(List<Employee> employees, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date " + startDate + " is after end date " + endDate);
+        }
+        Employee[] workforce = employees.toArray(new Employee[0]);
+        int n = workforce.length;
+        int chunks = (n + chunkSize - 1) / chunkSize;
+        Path runDirectory = directory.resolve("payroll-" + startDate + "-" + endDate);
+        Header header = new Header(startDate, endDate, n, chunkSize, idChecksum(workforce));
+        long period = periodChecksum(startDate, endDate, SssContributionTable.forDate(endDate),
+                                     WorkCalendar.standard());
+
+        String[] ids = new String[n];
+        long[][] columns = new long[COLUMNS][n];
+        try {
+            Files.createDirectories(runDirectory);
+            int done = readCheckpoint(runDirectory, header);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = chunk * chunkSize;
+                int to = Math.min(n, from + chunkSize);
+                for (int i = from; i < to; i++) {
+                    ids[i] = workforce[i].getId();
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Payroll run for " + startDate + " to " + endDate
+                        + " stopped after " + chunk + " of " + chunks + " chunks");
+                }
+                long inputs = inputChecksum(workforce, from, to, startDate, endDate, period);
+                if (chunk < done && readChunk(runDirectory, chunk, from, to, inputs, columns)) {
+                    continue;
+                }
+                PayrollResult part = payrollRun.run(employees.subList(from, to), startDate, endDate);
+                copy(part, from, columns);
+                writeChunk(runDirectory, chunk, from, to, inputs, columns);
+                done = Math.max(done, chunk + 1);
+                writeCheckpoint(runDirectory, header, done);
+            }
+            deleteRun(runDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to checkpoint payroll run in " + runDirectory, e);
+        }
+        return new PayrollResult(startDate, endDate, ids, columns[0], columns[1], columns[2],
+            columns[3], columns[4], columns[5]);
+    }
+
+    /**
+     * Copies the centavo columns of a chunk's result into the full columns
+     */
+    private static void copy(PayrollResult part, int from, long[][] columns) {
+        for (int i = 0; i < part.size(); i++) {
+            columns[0][from + i] = part.getGrossPayCentavos(i);
+            columns[1][from + i] = part.getSssDeductionCentavos(i);
+            columns[2][from + i] = part.getPhilHealthDeductionCentavos(i);
+            columns[3][from + i] = part.getPagIbigDeductionCentavos(i);
+            columns[4][from + i] = part.getTaxDeductionCentavos(i);
+            columns[5][from + i] = part.getNetPayCentavos(i);
+        }
+    }
+
+    /**
+     * Reads how many chunks an earlier run of the same period completed
+     *
+     * @return Completed chunks, or 0 if there is no matching, intact checkpoint
+     */
+    private static int readCheckpoint(Path runDirectory, Header header) throws IOException {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(runDirectory.resolve("checkpoint")))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+        if (buffer.remaining() != CHECKPOINT_BYTES || !checksumMatches(buffer)
+                || buffer.getInt() != CHECKPOINT_MAGIC || buffer.getInt() != VERSION
+                || !header.matches(buffer)) {
+            LOGGER.log(Level.INFO, "Ignoring checkpoint of a different or damaged run in {0}", runDirectory);
+            return 0;
+        }
+        return buffer.getInt();
+    }
+
+    private static void writeCheckpoint(Path runDirectory, Header header, int done) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(CHECKPOINT_MAGIC).putInt(VERSION);
+        header.write(buffer);
+        buffer.putInt(done);
+        writeAtomically(runDirectory.resolve("checkpoint"), buffer);
+    }
+
+    /**
+     * Reads a chunk's stored result into the columns
+     *
+     * @return true if the chunk file is intact and was computed from the same inputs
+     */
+    private static boolean readChunk(Path runDirectory, int chunk, int from, int to, long inputs,
+                                     long[][] columns) throws IOException {
+        int count = to - from;
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(chunkFile(runDirectory, chunk)))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (buffer.remaining() != chunkBytes(count) || !checksumMatches(buffer)
+                || buffer.getInt() != CHUNK_MAGIC || buffer.getInt() != VERSION
+                || buffer.getInt() != chunk || buffer.getInt() != count || buffer.getLong() != inputs) {
+            return false;
+        }
+        for (long[] column : columns) {
+            buffer.asLongBuffer().get(column, from, count);
+            buffer.position(buffer.position() + count * 8);
+        }
+        return true;
+    }
+
+    private static void writeChunk(Path runDirectory, int chunk, int from, int to, long inputs,
+                                   long[][] columns) throws IOException {
+        int count = to - from;
+        ByteBuffer buffer = ByteBuffer.allocate(chunkBytes(count)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(CHUNK_MAGIC).putInt(VERSION).putInt(chunk).putInt(count).putLong(inputs);
+        for (long[] column : columns) {
+            buffer.asLongBuffer().put(column, from, count);
+            buffer.position(buffer.position() + count * 8);
+        }
+        writeAtomically(chunkFile(runDirectory, chunk), buffer);
+    }
+
+    private static Path chunkFile(Path runDirectory, int chunk) {
+        return runDirectory.resolve(String.format(Locale.ROOT, "chunk-%06d", chunk));
+    }
+
+    private static int chunkBytes(int count) {
+        return CHUNK_HEADER_BYTES + COLUMNS * 8 * count + 8;
+    }
+
+    /**
+     * Appends a CRC32C of the buffer's contents, then writes it to a
+     * temporary file, forces it to disk and moves it into place
+     * A stream is used rather than a FileChannel, which would be closed if
+     * the thread is interrupted in the middle of the write
+     */
+    private static void writeAtomically(Path target, ByteBuffer buffer) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            out.write(buffer.array(), 0, buffer.limit());
+            out.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Checks the trailing CRC32C of a file read into a buffer, leaving the
+     * buffer positioned at the start and limited to the checksummed bytes
+     */
+    private static boolean checksumMatches(ByteBuffer buffer) {
+        int end = buffer.limit() - 8;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, end);
+        boolean matches = buffer.getLong(end) == crc.getValue();
+        buffer.limit(end);
+        return matches;
+    }
+
+    /**
+     * Deletes the files of a completed run
+     */
+    private static void deleteRun(Path runDirectory) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(runDirectory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(runDirectory);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to delete completed payroll run " + runDirectory, e);
+        }
+    }
+
+    /**
+     * Checksums the employee IDs in run order, identifying the workforce
+     */
+    private static long idChecksum(Employee[] workforce) {
+        CRC32C crc = new CRC32C();
+        for (Employee employee : workforce) {
+            crc.update(employee.getId().getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Checksums what every chunk's result depends on: the period, which of
+     * its days are workdays, and the brackets of the SSS table
+     * Without attendance in the period, pay is estimated from the workdays,
+     * so the holidays in the period matter as much as the attendance.
+     */
+    private static long periodChecksum(LocalDate startDate, LocalDate endDate,
+                                       SssContributionTable sssTable, WorkCalendar calendar) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(startDate.toEpochDay()).putLong(endDate.toEpochDay())
+            .putLong(sssTable.getEffectiveDate().toEpochDay()).putInt(sssTable.bracketCount());
+        for (int k = 0; k <= sssTable.bracketCount(); k++) {
+            buffer = drain(crc, buffer, 16);
+            buffer.putLong(k < sssTable.bracketCount() ? sssTable.ceiling(k) : 0)
+                .putLong(sssTable.contributionOf(k));
+        }
+        long bits = 0;
+        for (long day = startDate.toEpochDay(); day <= endDate.toEpochDay(); day++) {
+            bits = bits << 1 | (calendar.isWorkday(day) ? 1 : 0);
+            if ((day - startDate.toEpochDay()) % 64 == 63 || day == endDate.toEpochDay()) {
+                buffer = drain(crc, buffer, 8);
+                buffer.putLong(bits);
+                bits = 0;
+            }
+        }
+        crc.update(buffer.array(), 0, buffer.position());
+        return crc.getValue();
+    }
+
+    /**
+     * Checksums everything a chunk's result depends on
+     * Only the attendance within the period is read, as payableMinutes does
+     */
+    private static long inputChecksum(Employee[] workforce, int from, int to, LocalDate startDate,
+                                      LocalDate endDate, long period) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(period);
+        int firstDay = (int) startDate.toEpochDay();
+        int lastDay = (int) endDate.toEpochDay();
+        for (int i = from; i < to; i++) {
+            Employee employee = workforce[i];
+            synchronized (employee) {
+                AttendanceStore attendance = employee.attendance();
+                int first = attendance.lowerBound(firstDay);
+                int last = attendance.lowerBound(lastDay + 1);
+                buffer = drain(crc, buffer, 16);
+                buffer.putDouble(employee.getHourlyRate()).putInt(last - first);
+                byte[] id = employee.getId().getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(id.length);
+                crc.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+                crc.update(id);
+                for (int d = first; d < last; d++) {
+                    buffer = drain(crc, buffer, 8);
+                    buffer.putInt(attendance.epochDay(d))
+                        .putShort((short) attendance.loginMinute(d))
+                        .putShort((short) attendance.logoutMinute(d));
+                }
+            }
+        }
+        crc.update(buffer.array(), 0, buffer.position());
+        return crc.getValue();
+    }
+
+    /**
+     * Feeds the buffer to the checksum when fewer than the needed bytes are left
+     */
+    private static ByteBuffer drain(CRC32C crc, ByteBuffer buffer, int needed) {
+        if (buffer.remaining() < needed) {
+            crc.update(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+        return buffer;
+    }
+
+    /**
+     * Parameters that identify a run, stored in its checkpoint
+     */
+    private static final class Header {
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final int employees;
+        final int chunkSize;
+        final long ids;
+
+        Header(LocalDate startDate, LocalDate endDate, int employees, int chunkSize, long ids) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.employees = employees;
+            this.chunkSize = chunkSize;
+            this.ids = ids;
+        }
+
+        void write(ByteBuffer buffer) {
+            buffer.putLong(startDate.toEpochDay()).putLong(endDate.toEpochDay())
+                .putInt(employees).putInt(chunkSize).putLong(ids);
+        }
+
+        boolean matches(ByteBuffer buffer) {
+            return buffer.getLong() == startDate.toEpochDay() && buffer.getLong() == endDate.toEpochDay()
+                && buffer.getInt() == employees && buffer.getInt() == chunkSize && buffer.getLong() == ids;
+        }
+    }
+}
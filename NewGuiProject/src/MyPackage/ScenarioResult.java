@@ -0,0 +1,146 @@
+package MyPackage;
+
+/**
+ * Payroll totals of one scenario over the whole workforce
+ *
+ * Produced by ScenarioSimulator. Totals are exact sums of each employee's
+ * figures in centavos. difference() gives the change from another result,
+ * e.g. a baseline, as a result of its own.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class ScenarioResult {
+    /** Name of the scenario */
+    private final String name;
+    /** Number of employees in the totals */
+    private final int employees;
+    private final long grossPay;
+    private final long sss;
+    private final long philHealth;
+    private final long pagIbig;
+    private final long tax;
+    private final long netPay;
+
+    ScenarioResult(String name, int employees, long grossPay, long sss, long philHealth, long pagIbig,
+                   long tax, long netPay) {
+        this.name = name;
+        this.employees = employees;
+        this.grossPay = grossPay;
+        this.sss = sss;
+        this.philHealth = philHealth;
+        this.pagIbig = pagIbig;
+        this.tax = tax;
+        this.netPay = netPay;
+    }
+
+    /**
+     * Gets the change from another result, e.g. a baseline
+     *
+     * @param baseline The result to compare with
+     * @return Totals of this result minus those of baseline
+     */
+    public ScenarioResult difference(ScenarioResult baseline) {
+        return new ScenarioResult(name + " vs " + baseline.name, employees,
+            Money.subtract(grossPay, baseline.grossPay), Money.subtract(sss, baseline.sss),
+            Money.subtract(philHealth, baseline.philHealth), Money.subtract(pagIbig, baseline.pagIbig),
+            Money.subtract(tax, baseline.tax), Money.subtract(netPay, baseline.netPay));
+    }
+
+    /**
+     * Gets the name of the scenario
+     *
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of employees in the totals
+     *
+     * @return Number of employees
+     */
+    public int getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Gets the total gross pay
+     *
+     * @return Total gross pay
+     */
+    public double getTotalGrossPay() {
+        return Money.toPesos(grossPay);
+    }
+
+    /**
+     * Gets the total SSS deduction
+     *
+     * @return Total SSS deduction
+     */
+    public double getTotalSssDeduction() {
+        return Money.toPesos(sss);
+    }
+
+    /**
+     * Gets the total PhilHealth deduction
+     *
+     * @return Total PhilHealth deduction
+     */
+    public double getTotalPhilHealthDeduction() {
+        return Money.toPesos(philHealth);
+    }
+
+    /**
+     * Gets the total Pag-IBIG deduction
+     *
+     * @return Total Pag-IBIG deduction
+     */
+    public double getTotalPagIbigDeduction() {
+        return Money.toPesos(pagIbig);
+    }
+
+    /**
+     * Gets the total tax deduction
+     *
+     * @return Total tax deduction
+     */
+    public double getTotalTaxDeduction() {
+        return Money.toPesos(tax);
+    }
+
+    /**
+     * Gets the total net pay
+     *
+     * @return Total net pay
+     */
+    public double getTotalNetPay() {
+        return Money.toPesos(netPay);
+    }
+
+    /**
+     * Gets the total gross pay in centavos
+     *
+     * @return Total gross pay in centavos
+     */
+    public long getTotalGrossPayCentavos() {
+        return grossPay;
+    }
+
+    /**
+     * Gets the total net pay in centavos
+     *
+     * @return Total net pay in centavos
+     */
+    public long getTotalNetPayCentavos() {
+        return netPay;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": gross " + Money.toString(grossPay) + ", SSS " + Money.toString(sss)
+            + ", PhilHealth " + Money.toString(philHealth) + ", Pag-IBIG " + Money.toString(pagIbig)
+            + ", tax " + Money.toString(tax) + ", net " + Money.toString(netPay);
+    }
+}
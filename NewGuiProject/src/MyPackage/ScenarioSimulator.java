@@ -0,0 +1,218 @@
+package MyPackage;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates what-if payroll scenarios over one snapshot of the workforce
+ *
+ * The constructor reads what payroll needs from each employee once: the
+ * hourly rate and the minutes paid in the period (see
+ * Employee.calculatePay). Every scenario then works on those two primitive
+ * columns only, so no employee is copied or touched again, and the
+ * snapshot is immutable and shared by all scenarios.
+ *
+ * simulate() runs the scenarios on a ForkJoinPool, splitting each one into
+ * ranges of employees whose totals are added up. A scenario with the
+ * current rules gives the same figures as PayrollRun.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class ScenarioSimulator {
+    /** Fewest employees totalled by one task */
+    private static final int MIN_BATCH = 4096;
+
+    /** Pool that runs the scenarios */
+    private final ForkJoinPool pool;
+    /** Start of the pay period */
+    private final LocalDate startDate;
+    /** End of the pay period */
+    private final LocalDate endDate;
+    /** SSS table in effect at the end of the period */
+    private final SssContributionTable sssTable;
+    /** Hourly rate of each employee in centavos */
+    private final long[] hourlyRates;
+    /** Minutes paid to each employee in the period */
+    private final long[] minutes;
+
+    /**
+     * Takes a snapshot of the workforce for a period, to run on the common ForkJoinPool
+     *
+     * @param employees Employees to include
+     * @param startDate Start date of the period
+     * @param endDate End date of the period
+     * @throws IllegalArgumentException if startDate is after endDate
+     */
+    public ScenarioSimulator(List<Employee> employees, LocalDate startDate, LocalDate endDate) {
+        this(employees, startDate, endDate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Takes a snapshot of the workforce for a period
+     *
+     * @param employees Employees to include
+     * @param startDate Start date of the period
+     * @param endDate End date of the period
+     * @param pool Pool that runs the scenarios
+     * @throws IllegalArgumentException if startDate is after endDate
+     */
+    public ScenarioSimulator(List<Employee> employees, LocalDate startDate, LocalDate endDate, ForkJoinPool pool) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date " + startDate + " is after end date " + endDate);
+        }
+        this.pool = pool;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.sssTable = SssContributionTable.forDate(endDate);
+        int n = employees.size();
+        hourlyRates = new long[n];
+        minutes = new long[n];
+        int i = 0;
+        for (Employee employee : employees) {
+            hourlyRates[i] = Money.ofPesos(employee.getHourlyRate());
+            minutes[i] = employee.payableMinutes(startDate, endDate);
+            i++;
+        }
+    }
+
+    /**
+     * Gets the start of the pay period
+     *
+     * @return First day of the period
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Gets the end of the pay period
+     *
+     * @return Last day of the period
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * Gets the number of employees in the snapshot
+     *
+     * @return Number of employees
+     */
+    public int size() {
+        return minutes.length;
+    }
+
+    /**
+     * Evaluates one scenario
+     *
+     * @param scenario Rules to apply
+     * @return Totals over the workforce
+     */
+    public ScenarioResult simulate(PayrollScenario scenario) {
+        return simulate(List.of(scenario)).get(0);
+    }
+
+    /**
+     * Evaluates scenarios in parallel
+     *
+     * @param scenarios Rules to apply
+     * @return Totals for each scenario, in the same order
+     */
+    public List<ScenarioResult> simulate(List<PayrollScenario> scenarios) {
+        PayrollScenario[] all = scenarios.toArray(new PayrollScenario[0]);
+        ScenarioResult[] results = new ScenarioResult[all.length];
+        pool.invoke(new SimulateTask(all, results));
+        List<ScenarioResult> list = new ArrayList<>(all.length);
+        for (ScenarioResult result : results) {
+            list.add(result);
+        }
+        return list;
+    }
+
+    /**
+     * Starts one totals task per scenario and collects the results
+     */
+    private final class SimulateTask extends RecursiveAction {
+        private final PayrollScenario[] scenarios;
+        private final ScenarioResult[] results;
+
+        SimulateTask(PayrollScenario[] scenarios, ScenarioResult[] results) {
+            this.scenarios = scenarios;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            List<TotalsTask> tasks = new ArrayList<>(scenarios.length);
+            for (PayrollScenario scenario : scenarios) {
+                tasks.add(new TotalsTask(scenario, scenario.sssTable(sssTable), 0, minutes.length));
+            }
+            invokeAll(tasks);
+            for (int i = 0; i < scenarios.length; i++) {
+                long[] totals = tasks.get(i).join();
+                results[i] = new ScenarioResult(scenarios[i].getName(), minutes.length,
+                    totals[0], totals[1], totals[2], totals[3], totals[4], totals[5]);
+            }
+        }
+    }
+
+    /**
+     * Totals one scenario over a range of employees
+     * The result holds gross, SSS, PhilHealth, Pag-IBIG, tax and net in centavos
+     */
+    private final class TotalsTask extends RecursiveTask<long[]> {
+        private final PayrollScenario scenario;
+        private final SssContributionTable table;
+        private final int from;
+        private final int to;
+
+        TotalsTask(PayrollScenario scenario, SssContributionTable table, int from, int to) {
+            this.scenario = scenario;
+            this.table = table;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > MIN_BATCH) {
+                int middle = (from + to) >>> 1;
+                TotalsTask left = new TotalsTask(scenario, table, from, middle);
+                TotalsTask right = new TotalsTask(scenario, table, middle, to);
+                left.fork();
+                long[] totals = right.compute();
+                long[] other = left.join();
+                for (int k = 0; k < totals.length; k++) {
+                    totals[k] = Money.add(totals[k], other[k]);
+                }
+                return totals;
+            }
+            long gross = 0;
+            long sss = 0;
+            long philHealth = 0;
+            long pagIbig = 0;
+            long tax = 0;
+            long net = 0;
+            for (int i = from; i < to; i++) {
+                long g = Money.scale(scenario.hourlyRate(hourlyRates[i]), minutes[i], 60, RoundingMode.HALF_UP);
+                long s = table.contribution(g);
+                long ph = scenario.philHealth(g);
+                long pi = scenario.pagIbig(g);
+                long t = scenario.tax(g);
+                gross = Money.add(gross, g);
+                sss = Money.add(sss, s);
+                philHealth = Money.add(philHealth, ph);
+                pagIbig = Money.add(pagIbig, pi);
+                tax = Money.add(tax, t);
+                net = Money.add(net, Money.subtract(Money.subtract(g, Money.add(Money.add(s, ph), pi)), t));
+            }
+            return new long[] {gross, sss, philHealth, pagIbig, tax, net};
+        }
+    }
+}
@@ -0,0 +1,654 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot storage of the employee master and attendance history
+ *
+ * This class keeps a versioned, checksummed binary copy of what was
+ * imported from the CSV files:
+ * - load() reads the snapshot when it is still current, which avoids
+ *   re-parsing both CSV files as text on every launch
+ * - Time clocks append to the attendance file all day, so instead of its
+ *   size and time the snapshot records the AttendanceFileMark of the rows
+ *   it holds; load() applies the rows appended after that mark on top
+ * - When the snapshot is missing, damaged, from another format version,
+ *   older than the employee CSV file, or the attendance file no longer
+ *   holds the marked rows, load() falls back to the CSV files and writes a
+ *   fresh snapshot
+ * - save() writes a snapshot of the given employees, stamped with the
+ *   files as they were when the data was loaded, so rows the data lacks
+ *   are applied on the next load instead of being taken as present
+ * - The snapshot also records how much of the AttendanceJournal it holds;
+ *   after a CSV import that is none of it, so the whole journal is
+ *   replayed over the imported rows
+ *
+ * File layout (little-endian): magic, version, the size and modification
+ * time of the employee CSV file, the attendance mark's offset and
+ * checksums, the journal offset, the employee count, then per employee
+ * its text fields, amounts and attendance columns, and finally a CRC32C of
+ * all preceding bytes.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public class SnapshotStorage implements FileStorage<Employee> {
+    /** Default location of the snapshot, relative to the project directory */
+    public static final String DEFAULT_FILE_PATH = "motorph-data.snapshot";
+
+    /** Identifies a snapshot file: "MPHS" */
+    private static final int MAGIC = 0x5348504D;
+    /** Format version; bump whenever the layout changes */
+    private static final int VERSION = 3;
+    /** Size of the I/O buffer */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final Logger LOGGER = Logger.getLogger(SnapshotStorage.class.getName());
+
+    /** Path of the snapshot file */
+    private final String filePath;
+    /** Employee master CSV the snapshot was built from */
+    private final EmployeeCsvStorage employeeSource;
+    /** Attendance CSV the snapshot was built from */
+    private final AttendanceCsvLoader attendanceSource;
+    /** Size and modification time of the employee CSV when the data was last loaded; null until then */
+    private volatile long[] employeeFingerprint;
+    /** Attendance rows the data last loaded or saved holds */
+    private volatile AttendanceFileMark attendanceMark = AttendanceFileMark.START;
+    /** Offset in the attendance journal up to which the data last loaded or saved holds its events */
+    private volatile long journalOffset;
+
+    /**
+     * Constructs a snapshot storage over the default CSV files
+     */
+    public SnapshotStorage() {
+        this(DEFAULT_FILE_PATH, new EmployeeCsvStorage(), new AttendanceCsvLoader());
+    }
+
+    /**
+     * Constructs a snapshot storage
+     *
+     * @param filePath Path of the snapshot file
+     * @param employeeSource Employee master CSV used when the snapshot is stale
+     * @param attendanceSource Attendance CSV used when the snapshot is stale
+     */
+    public SnapshotStorage(String filePath, EmployeeCsvStorage employeeSource, AttendanceCsvLoader attendanceSource) {
+        this.filePath = filePath;
+        this.employeeSource = employeeSource;
+        this.attendanceSource = attendanceSource;
+    }
+
+    /**
+     * Loads employees with their attendance
+     * Reads the snapshot if it is current, otherwise imports the CSV files
+     * and writes a new snapshot
+     *
+     * @return List of loaded employees
+     * @throws UncheckedIOException if neither the snapshot nor the CSV files can be read
+     */
+    @Override
+    public List<Employee> load() {
+        long[] master = fingerprint(employeeSource.getFilePath());
+        List<Employee> employees = readSnapshot(master);
+        if (employees != null) {
+            AttendanceFileMark reached = attendanceSource.loadAfter(employees, attendanceMark);
+            if (reached != null) {
+                employeeFingerprint = master;
+                attendanceMark = reached;
+                return employees;
+            }
+            LOGGER.info("Attendance file " + attendanceSource.getFilePath()
+                + " was rewritten since snapshot " + filePath + "; reloading CSV files");
+        }
+        employees = importCsv();
+        try {
+            write(employees, employeeFingerprint, attendanceMark, 0);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to write snapshot " + filePath, e);
+        }
+        return employees;
+    }
+
+    /**
+     * Imports employees and attendance from the CSV files
+     * The files are described before they are read, so a change made while
+     * they load is picked up again rather than missed
+     *
+     * @return List of imported employees
+     */
+    public List<Employee> importCsv() {
+        long[] master = fingerprint(employeeSource.getFilePath());
+        AttendanceFileMark mark = attendanceSource.mark();
+        List<Employee> employees = employeeSource.load();
+        if (Files.exists(Paths.get(attendanceSource.getFilePath()))) {
+            attendanceSource.loadParallel(employees);
+        }
+        employeeFingerprint = master;
+        attendanceMark = mark;
+        journalOffset = 0;
+        return employees;
+    }
+
+    /**
+     * Saves a snapshot of the given employees, stamped with the CSV files as
+     * they were when the data was last loaded
+     *
+     * @param items List of employees to save
+     * @throws UncheckedIOException if the snapshot cannot be written
+     */
+    @Override
+    public void save(List<Employee> items) {
+        save(items, attendanceMark, journalOffset);
+    }
+
+    /**
+     * Saves a snapshot of the given employees holding the attendance rows up
+     * to a mark and the journal events up to an offset
+     * Used when rows or events were applied after loading, e.g. by
+     * AttendanceTailReloader or AttendanceJournal
+     *
+     * @param items List of employees to save
+     * @param mark Attendance rows the employees hold; rows after it are applied on the next load
+     * @param journalOffset Journal offset up to which the employees hold the events
+     * @throws UncheckedIOException if the snapshot cannot be written
+     */
+    public void save(List<Employee> items, AttendanceFileMark mark, long journalOffset) {
+        long[] master = employeeFingerprint;
+        try {
+            write(items, master != null ? master : fingerprint(employeeSource.getFilePath()), mark, journalOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write snapshot " + filePath, e);
+        }
+        attendanceMark = mark;
+        this.journalOffset = journalOffset;
+    }
+
+    /**
+     * Gets the file path used for storage
+     *
+     * @return The snapshot file path
+     */
+    @Override
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Gets the path of the attendance CSV the snapshot is built from
+     *
+     * @return The attendance file path
+     */
+    public String getAttendanceFilePath() {
+        return attendanceSource.getFilePath();
+    }
+
+    /**
+     * Gets the attendance rows the data last loaded or saved holds
+     *
+     * @return The mark, START before anything was loaded
+     */
+    public AttendanceFileMark getAttendanceMark() {
+        return attendanceMark;
+    }
+
+    /**
+     * Gets the attendance journal offset up to which the data last loaded or
+     * saved holds the journal's events
+     *
+     * @return The offset to replay the journal from, 0 after a CSV import
+     */
+    public long getJournalOffset() {
+        return journalOffset;
+    }
+
+    /**
+     * Describes a CSV file by size and modification time
+     *
+     * @return Size and modification time, -1 each if the file is missing
+     */
+    private static long[] fingerprint(String path) {
+        try {
+            Path file = Paths.get(path);
+            return new long[] {Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+        } catch (IOException e) {
+            return new long[] {-1, -1};
+        }
+    }
+
+    /**
+     * Reads the snapshot if it exists, is intact and matches the employee CSV
+     * On success the attendance mark it was saved with becomes the current one
+     *
+     * @param master Current fingerprint of the employee CSV
+     * @return The employees, or null if the snapshot cannot be used
+     */
+    private List<Employee> readSnapshot(long[] master) {
+        try (Input in = new Input(FileChannel.open(Paths.get(filePath), StandardOpenOption.READ))) {
+            if (in.channelSize() < 8 + 16 + 16 + 8 + 4 + 8 || in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.info("Snapshot " + filePath + " has an unknown format; reloading CSV files");
+                return null;
+            }
+            for (long source : master) {
+                if (in.readLong() != source) {
+                    LOGGER.info("Snapshot " + filePath + " is older than the employee file; reloading CSV files");
+                    return null;
+                }
+            }
+            AttendanceFileMark mark = new AttendanceFileMark(in.readLong(), in.readInt(), in.readInt());
+            long journal = in.readLong();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Negative employee count " + count);
+            }
+            List<Employee> employees = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                employees.add(readEmployee(in));
+            }
+            if (!in.verifyChecksum()) {
+                LOGGER.warning("Snapshot " + filePath + " failed its checksum; reloading CSV files");
+                return null;
+            }
+            attendanceMark = mark;
+            journalOffset = journal;
+            return employees;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Unable to read snapshot " + filePath + "; reloading CSV files", e);
+            return null;
+        }
+    }
+
+    private static Employee readEmployee(Input in) throws IOException {
+        String id = in.readString();
+        String firstName = in.readString();
+        String lastName = in.readString();
+        String position = in.readString();
+        String supervisor = in.readString();
+        String sssNumber = in.readString();
+        String philHealthNumber = in.readString();
+        String pagIbigNumber = in.readString();
+        String tin = in.readString();
+        double hourlyRate = in.readDouble();
+        Employee employee = new Employee(id, firstName, lastName, position, supervisor,
+                                         sssNumber, philHealthNumber, pagIbigNumber, tin, hourlyRate);
+        employee.setDepartment(in.readString());
+        employee.setBirthday(in.readString());
+        employee.setAddress(in.readString());
+        employee.setPhoneNumber(in.readString());
+        employee.setStatus(in.readString());
+        employee.setBasicSalary(in.readDouble());
+        employee.setRiceSubsidy(in.readDouble());
+        employee.setPhoneAllowance(in.readDouble());
+        employee.setClothingAllowance(in.readDouble());
+        employee.setGrossSemiMonthlyRate(in.readDouble());
+
+        int days = in.readCount(4 + 2 + 2);
+        int[] epochDay = new int[days];
+        short[] loginMinute = new short[days];
+        short[] logoutMinute = new short[days];
+        in.readInts(epochDay);
+        in.readShorts(loginMinute);
+        in.readShorts(logoutMinute);
+        employee.attendance().restore(epochDay, loginMinute, logoutMinute);
+
+        int added = in.readCount(4 + 8);
+        for (int i = 0; i < added; i++) {
+            employee.addHoursWorked(in.readInt(), in.readDouble());
+        }
+        return employee;
+    }
+
+    /**
+     * Writes a snapshot to a temporary file and moves it into place
+     *
+     * @param employees Employees to write
+     * @param master Fingerprint of the employee CSV the employees came from
+     * @param mark Attendance rows the employees hold
+     * @param journalOffset Journal offset up to which the employees hold the events
+     * @throws IOException if writing fails
+     */
+    private void write(List<Employee> employees, long[] master, AttendanceFileMark mark, long journalOffset)
+            throws IOException {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Output out = new Output(FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (long source : master) {
+                out.writeLong(source);
+            }
+            out.writeLong(mark.getOffset());
+            out.writeInt(mark.getHeadChecksum());
+            out.writeInt(mark.getTailChecksum());
+            out.writeLong(journalOffset);
+            out.writeInt(employees.size());
+            for (Employee employee : employees) {
+                writeEmployee(out, employee);
+            }
+            out.finish();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeEmployee(Output out, Employee employee) throws IOException {
+        out.writeString(employee.getId());
+        out.writeString(employee.getFirstName());
+        out.writeString(employee.getLastName());
+        out.writeString(employee.getPosition());
+        out.writeString(employee.getSupervisor());
+        out.writeString(employee.getSssNumber());
+        out.writeString(employee.getPhilHealthNumber());
+        out.writeString(employee.getPagIbigNumber());
+        out.writeString(employee.getTin());
+        out.writeDouble(employee.getHourlyRate());
+        out.writeString(employee.getDepartment());
+        out.writeString(employee.getBirthday());
+        out.writeString(employee.getAddress());
+        out.writeString(employee.getPhoneNumber());
+        out.writeString(employee.getStatus());
+        out.writeDouble(employee.getBasicSalary());
+        out.writeDouble(employee.getRiceSubsidy());
+        out.writeDouble(employee.getPhoneAllowance());
+        out.writeDouble(employee.getClothingAllowance());
+        out.writeDouble(employee.getGrossSemiMonthlyRate());
+
+        // Held so a clock event cannot change the columns part way through
+        synchronized (employee) {
+            AttendanceStore attendance = employee.attendance();
+            int days = attendance.size();
+            out.writeInt(days);
+            for (int i = 0; i < days; i++) {
+                out.writeInt(attendance.epochDay(i));
+            }
+            for (int i = 0; i < days; i++) {
+                out.writeShort(attendance.loginMinute(i));
+            }
+            for (int i = 0; i < days; i++) {
+                out.writeShort(attendance.logoutMinute(i));
+            }
+
+            HoursLedger added = employee.addedHours();
+            int entries = added == null ? 0 : added.size();
+            out.writeInt(entries);
+            for (int i = 0; i < entries; i++) {
+                out.writeInt(added.epochDay(i));
+                out.writeDouble(added.hours(i));
+            }
+        }
+    }
+
+    /**
+     * Buffered little-endian reader that checksums everything it consumes
+     * Every length and count is checked against the bytes left in the file
+     * before anything is allocated for it, so a damaged snapshot is reported
+     * as corrupt instead of exhausting memory
+     */
+    private static final class Input implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        /** Size of the file when it was opened */
+        private final long size;
+        /** Position in the buffer up to which bytes have been checksummed */
+        private int checked;
+
+        Input(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            buffer.flip();
+        }
+
+        long channelSize() {
+            return size;
+        }
+
+        /**
+         * Gets the number of bytes not yet consumed
+         */
+        private long remaining() throws IOException {
+            return buffer.remaining() + size - channel.position();
+        }
+
+        /**
+         * Makes at least n bytes available in the buffer
+         */
+        private void require(int n) throws IOException {
+            if (buffer.remaining() >= n) {
+                return;
+            }
+            if (n > buffer.capacity() || n > remaining()) {
+                throw new IOException("Snapshot is truncated or corrupt");
+            }
+            updateChecksum();
+            buffer.compact();
+            while (buffer.position() < n) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Snapshot is truncated");
+                }
+            }
+            buffer.flip();
+            checked = 0;
+        }
+
+        private void updateChecksum() {
+            int position = buffer.position();
+            if (position > checked) {
+                ByteBuffer consumed = buffer.duplicate();
+                consumed.position(checked).limit(position);
+                crc.update(consumed);
+                checked = position;
+            }
+        }
+
+        int readInt() throws IOException {
+            require(4);
+            return buffer.getInt();
+        }
+
+        long readLong() throws IOException {
+            require(8);
+            return buffer.getLong();
+        }
+
+        double readDouble() throws IOException {
+            require(8);
+            return buffer.getDouble();
+        }
+
+        /**
+         * Reads a count of entries that each take the given number of bytes
+         *
+         * @throws IOException if the count is negative or the entries cannot fit in the rest of the file
+         */
+        int readCount(int entryBytes) throws IOException {
+            int count = readInt();
+            if (count < 0 || (long) count * entryBytes > remaining()) {
+                throw new IOException("Snapshot is corrupt: invalid count " + count);
+            }
+            return count;
+        }
+
+        String readString() throws IOException {
+            int length = readInt();
+            if (length == -1) {
+                return null;
+            }
+            if (length < 0 || length > remaining()) {
+                throw new IOException("Snapshot is corrupt: invalid text length " + length);
+            }
+            byte[] bytes = new byte[length];
+            if (length <= buffer.remaining()) {
+                buffer.get(bytes);
+            } else {
+                readDirect(bytes);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Fills an array larger than the buffered bytes, reading the rest
+         * straight from the file instead of through the buffer
+         */
+        private void readDirect(byte[] bytes) throws IOException {
+            int buffered = buffer.remaining();
+            buffer.get(bytes, 0, buffered);
+            updateChecksum();
+            buffer.clear().flip();
+            checked = 0;
+            ByteBuffer rest = ByteBuffer.wrap(bytes, buffered, bytes.length - buffered);
+            while (rest.hasRemaining()) {
+                if (channel.read(rest) < 0) {
+                    throw new IOException("Snapshot is truncated");
+                }
+            }
+            crc.update(bytes, buffered, bytes.length - buffered);
+        }
+
+        void readInts(int[] values) throws IOException {
+            int done = 0;
+            while (done < values.length) {
+                require(4);
+                int n = Math.min(values.length - done, buffer.remaining() / 4);
+                buffer.asIntBuffer().get(values, done, n);
+                buffer.position(buffer.position() + n * 4);
+                done += n;
+            }
+        }
+
+        void readShorts(short[] values) throws IOException {
+            int done = 0;
+            while (done < values.length) {
+                require(2);
+                int n = Math.min(values.length - done, buffer.remaining() / 2);
+                buffer.asShortBuffer().get(values, done, n);
+                buffer.position(buffer.position() + n * 2);
+                done += n;
+            }
+        }
+
+        /**
+         * Reads the trailing checksum and compares it with the bytes read
+         *
+         * @return true if the snapshot is intact and fully consumed
+         */
+        boolean verifyChecksum() throws IOException {
+            updateChecksum();
+            long expected = crc.getValue();
+            require(8);
+            long stored = buffer.getLong();
+            return stored == expected && !buffer.hasRemaining() && channel.position() == channel.size();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Buffered little-endian writer that appends a CRC32C on finish
+     */
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void require(int n) throws IOException {
+            if (buffer.remaining() < n) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void writeInt(int value) throws IOException {
+            require(4);
+            buffer.putInt(value);
+        }
+
+        void writeShort(int value) throws IOException {
+            require(2);
+            buffer.putShort((short) value);
+        }
+
+        void writeLong(long value) throws IOException {
+            require(8);
+            buffer.putLong(value);
+        }
+
+        void writeDouble(double value) throws IOException {
+            require(8);
+            buffer.putDouble(value);
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                // Larger than the buffer; write it straight to the file
+                flush();
+                crc.update(bytes);
+                ByteBuffer direct = ByteBuffer.wrap(bytes);
+                while (direct.hasRemaining()) {
+                    channel.write(direct);
+                }
+                return;
+            }
+            require(bytes.length);
+            buffer.put(bytes);
+        }
+
+        /**
+         * Writes the checksum and forces the file to disk
+         */
+        void finish() throws IOException {
+            flush();
+            require(8);
+            buffer.putLong(crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * SSS employee contribution brackets in effect from a given date
+ *
+ * The brackets are loaded from "SSS Contribution Table.csv", which has the
+ * layout Effective Date,Monthly Compensation Up To,Employee Contribution.
+ * Each effective date starts a new version of the table; its rows list
+ * the brackets in ascending order, and a last row with an empty ceiling
+ * gives the contribution above the highest bracket. Updating the table
+ * for a new SSS circular means adding rows, not changing code.
+ *
+ * Amounts are held as whole centavos (see Money). A lookup finds the first
+ * bracket whose ceiling is at least the gross pay, as the former chain of
+ * if statements did:
+ * - When every bracket after the first has the same width, as in the 2023
+ *   table, the bracket is computed directly from the gross pay
+ * - Otherwise the ceilings are binary searched
+ *
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class SssContributionTable {
+    /** Classpath resource holding every version of the table */
+    public static final String RESOURCE = "SSS Contribution Table.csv";
+
+    /** Day the brackets take effect */
+    private final LocalDate effectiveDate;
+    /** Inclusive upper bound of each bracket in centavos, strictly ascending */
+    private final long[] ceilings;
+    /** Contribution of each bracket in centavos, with the one above the last ceiling at the end */
+    private final long[] contributions;
+    /** Width in centavos shared by every bracket after the first, or 0 if they differ */
+    private final long width;
+
+    /** Marks the row giving the contribution above the last ceiling */
+    private static final long NO_CEILING = Long.MIN_VALUE;
+
+    /** Table returned by current() and the instants between which it applies */
+    private static volatile Current current;
+
+    /**
+     * Creates a version of the table
+     *
+     * @param effectiveDate Day the brackets take effect
+     * @param ceilings Inclusive upper bound of each bracket in centavos, strictly ascending
+     * @param contributions One contribution in centavos per bracket, plus the one above the last ceiling
+     * @throws IllegalArgumentException if the arrays do not describe valid brackets
+     */
+    SssContributionTable(LocalDate effectiveDate, long[] ceilings, long[] contributions) {
+        if (ceilings.length == 0 || contributions.length != ceilings.length + 1) {
+            throw new IllegalArgumentException("SSS table effective " + effectiveDate
+                + " needs at least one bracket and one contribution above the last bracket");
+        }
+        for (int i = 1; i < ceilings.length; i++) {
+            if (ceilings[i] <= ceilings[i - 1]) {
+                throw new IllegalArgumentException("SSS table effective " + effectiveDate
+                    + " has brackets out of order at " + ceilings[i]);
+            }
+        }
+        this.effectiveDate = effectiveDate;
+        this.ceilings = ceilings.clone();
+        this.contributions = contributions.clone();
+        this.width = uniformWidth(this.ceilings);
+    }
+
+    /**
+     * Gets the table in effect on a date
+     * Dates before the earliest version use the earliest version
+     *
+     * @param date The date, normally the last day of the pay period
+     * @return The table in effect
+     */
+    public static SssContributionTable forDate(LocalDate date) {
+        Map.Entry<LocalDate, SssContributionTable> entry = Versions.TABLES.floorEntry(date);
+        return entry != null ? entry.getValue() : Versions.TABLES.firstEntry().getValue();
+    }
+
+    /**
+     * Gets the table in effect today
+     * The result is cached until the next version takes effect, so calling
+     * this for every employee does not look up the date each time. When
+     * only one version exists the clock is not read at all, since reading
+     * it can cost more than the deduction it is wanted for.
+     *
+     * @return The table in effect
+     */
+    public static SssContributionTable current() {
+        Current cached = current;
+        if (cached != null && cached.fromMillis == Long.MIN_VALUE && cached.untilMillis == Long.MAX_VALUE) {
+            return cached.table;
+        }
+        long now = System.currentTimeMillis();
+        if (cached == null || now < cached.fromMillis || now >= cached.untilMillis) {
+            cached = new Current(forDate(LocalDate.now()));
+            current = cached;
+        }
+        return cached.table;
+    }
+
+    /**
+     * Reads every version of the table from CSV
+     *
+     * @param reader Source of the CSV, starting with a header row
+     * @return Versions by effective date
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if a row is malformed
+     */
+    static NavigableMap<LocalDate, SssContributionTable> read(Reader reader) throws IOException {
+        Map<LocalDate, List<long[]>> rows = new TreeMap<>();
+        try (CsvTokenizer csv = new CsvTokenizer(reader)) {
+            boolean header = true;
+            while (csv.next()) {
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                if (csv.fieldCount() < 3) {
+                    throw new IllegalArgumentException("Invalid SSS table row on line " + csv.lineNumber()
+                        + ": expected 3 fields, got " + csv.fieldCount());
+                }
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(csv.field(0).trim());
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid effective date on line " + csv.lineNumber()
+                        + ": " + csv.field(0));
+                }
+                long ceiling = csv.isEmpty(1) ? NO_CEILING : Money.ofPesos(csv.number(1));
+                long contribution = Money.ofPesos(csv.number(2));
+                rows.computeIfAbsent(date, d -> new ArrayList<>()).add(new long[] {ceiling, contribution});
+            }
+        }
+        NavigableMap<LocalDate, SssContributionTable> tables = new TreeMap<>();
+        for (Map.Entry<LocalDate, List<long[]>> version : rows.entrySet()) {
+            List<long[]> brackets = version.getValue();
+            int n = brackets.size() - 1;
+            if (n < 1 || brackets.get(n)[0] != NO_CEILING) {
+                throw new IllegalArgumentException("SSS table effective " + version.getKey()
+                    + " must end with one row that has an empty ceiling");
+            }
+            long[] ceilings = new long[n];
+            long[] contributions = new long[n + 1];
+            for (int i = 0; i <= n; i++) {
+                if (i < n) {
+                    ceilings[i] = brackets.get(i)[0];
+                }
+                contributions[i] = brackets.get(i)[1];
+            }
+            tables.put(version.getKey(), new SssContributionTable(version.getKey(), ceilings, contributions));
+        }
+        return tables;
+    }
+
+    /**
+     * Gets the day the brackets take effect
+     *
+     * @return The effective date
+     */
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    /**
+     * Gets the number of brackets with a ceiling
+     *
+     * @return Number of ceilings; there is one more contribution than this
+     */
+    int bracketCount() {
+        return ceilings.length;
+    }
+
+    /**
+     * Gets the inclusive upper bound of a bracket
+     *
+     * @param bracket The bracket, from 0 to bracketCount() - 1
+     * @return The ceiling in centavos
+     */
+    long ceiling(int bracket) {
+        return ceilings[bracket];
+    }
+
+    /**
+     * Gets the contribution of a bracket
+     *
+     * @param bracket The bracket, from 0 to bracketCount() for the one above the last ceiling
+     * @return The contribution in centavos
+     */
+    long contributionOf(int bracket) {
+        return contributions[bracket];
+    }
+
+    /**
+     * Looks up the employee contribution for a monthly compensation
+     *
+     * @param grossPay The gross pay amount in centavos
+     * @return SSS deduction amount in centavos
+     */
+    public long contribution(long grossPay) {
+        return contributions[bracket(grossPay)];
+    }
+
+    /**
+     * Looks up the employee contribution for a monthly compensation in pesos
+     *
+     * @param grossPay The gross pay amount
+     * @return SSS deduction amount
+     * @throws ArithmeticException if the amount is not finite
+     */
+    public double contribution(double grossPay) {
+        return Money.toPesos(contribution(Money.ofPesos(grossPay)));
+    }
+
+    /**
+     * Looks up the employee contribution for many gross pays at once
+     *
+     * @param grossPays Gross pay amounts in pesos
+     * @return New array with the SSS deduction for each amount, in pesos
+     * @throws ArithmeticException if an amount is not finite
+     */
+    public double[] contributions(double[] grossPays) {
+        double[] result = new double[grossPays.length];
+        for (int i = 0; i < grossPays.length; i++) {
+            result[i] = contribution(grossPays[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Looks up the employee contribution for a range of gross pays
+     *
+     * @param grossPays Gross pay amounts in centavos
+     * @param result Receives the SSS deduction in centavos at the same index as each amount
+     * @param from First index, inclusive
+     * @param to Last index, exclusive
+     */
+    public void contributions(long[] grossPays, long[] result, int from, int to) {
+        for (int i = from; i < to; i++) {
+            result[i] = contributions[bracket(grossPays[i])];
+        }
+    }
+
+    /**
+     * Finds the first bracket whose ceiling is at least the gross pay
+     *
+     * @return The bracket, or ceilings.length above the last ceiling
+     */
+    private int bracket(long grossPay) {
+        int last = ceilings.length - 1;
+        if (grossPay <= ceilings[0]) {
+            return 0;
+        }
+        if (grossPay > ceilings[last]) {
+            return last + 1;
+        }
+        if (width > 0) {
+            // Brackets after the first are (c0 + (k - 1) * width, c0 + k * width]
+            return (int) ((grossPay - ceilings[0] + width - 1) / width);
+        }
+        int low = 1;
+        int high = last;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (grossPay <= ceilings[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the width shared by every bracket after the first
+     *
+     * @return The width, or 0 if the brackets differ or there are fewer than three
+     */
+    private static long uniformWidth(long[] ceilings) {
+        if (ceilings.length < 3) {
+            return 0;
+        }
+        long width = ceilings[1] - ceilings[0];
+        for (int i = 2; i < ceilings.length; i++) {
+            if (ceilings[i] - ceilings[i - 1] != width) {
+                return 0;
+            }
+        }
+        return width;
+    }
+
+    /**
+     * Versions loaded from the bundled resource on first use
+     */
+    private static final class Versions {
+        static final NavigableMap<LocalDate, SssContributionTable> TABLES = loadResource();
+
+        private static NavigableMap<LocalDate, SssContributionTable> loadResource() {
+            InputStream in = SssContributionTable.class.getResourceAsStream(RESOURCE);
+            if (in == null) {
+                throw new IllegalStateException("SSS contribution table resource not found: " + RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                NavigableMap<LocalDate, SssContributionTable> tables = read(reader);
+                if (tables.isEmpty()) {
+                    throw new IllegalStateException("SSS contribution table resource is empty: " + RESOURCE);
+                }
+                return Collections.unmodifiableNavigableMap(tables);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read SSS contribution table " + RESOURCE, e);
+            }
+        }
+    }
+
+    /**
+     * A table together with the instants between which it is the one in effect
+     */
+    private static final class Current {
+        final SssContributionTable table;
+        final long fromMillis;
+        final long untilMillis;
+
+        Current(SssContributionTable table) {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate first = Versions.TABLES.firstKey();
+            LocalDate next = Versions.TABLES.higherKey(table.effectiveDate);
+            this.table = table;
+            this.fromMillis = table.effectiveDate.equals(first)
+                ? Long.MIN_VALUE : table.effectiveDate.atStartOfDay(zone).toInstant().toEpochMilli();
+            this.untilMillis = next == null
+                ? Long.MAX_VALUE : next.atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package MyPackage;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary that maps the distinct values of a low-cardinality text column
+ * to small int codes
+ *
+ * Columns such as position, supervisor and status repeat a handful of values
+ * ("Regular", "Chief Finance Officer", "Garcia, Manuel III") across every
+ * employee. Storing an int code per employee and one String per distinct
+ * value replaces a separate String for every employee:
+ * - encode() returns the code of a value, adding it on first use
+ * - encode(char[], int, int) does the same straight from a parser buffer,
+ *   without creating a String for values already in the dictionary
+ * - decode() returns the single shared String for a code
+ *
+ * Codes are never reused, so they stay valid for the life of the program.
+ * Encoding is synchronized; decoding takes no lock.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class StringDictionary {
+    /** Code used for a null value */
+    static final int NULL_CODE = -1;
+
+    /** Marker for an unused hash slot */
+    private static final int EMPTY = -1;
+
+    /** Distinct values, indexed by code; replaced on growth and re-published after every add */
+    private volatile String[] values = new String[16];
+    /** Number of codes handed out */
+    private int size;
+    /** Open addressing table of codes, keyed by the value's hash */
+    private int[] table = newTable(32);
+
+    /**
+     * Gets the number of distinct values
+     *
+     * @return The number of codes handed out
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the code of a value, adding it if it is new
+     *
+     * @param value The value, or null
+     * @return The code, or NULL_CODE for null
+     */
+    synchronized int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        int mask = table.length - 1;
+        for (int slot = spread(value.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int code = table[slot];
+            if (code == EMPTY) {
+                return add(value, slot);
+            }
+            if (values[code].equals(value)) {
+                return code;
+            }
+        }
+    }
+
+    /**
+     * Gets the code of the value held in a range of a character buffer,
+     * adding it if it is new
+     * A String is only created the first time a value is seen
+     *
+     * @param chars Buffer holding the value
+     * @param from Start of the value, inclusive
+     * @param to End of the value, exclusive
+     * @return The code
+     */
+    synchronized int encode(char[] chars, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int code = table[slot];
+            if (code == EMPTY) {
+                return add(new String(chars, from, to - from), slot);
+            }
+            if (contentEquals(values[code], chars, from, to)) {
+                return code;
+            }
+        }
+    }
+
+    /**
+     * Gets the value of a code
+     *
+     * @param code A code returned by encode, or NULL_CODE
+     * @return The shared String for the code, or null for NULL_CODE
+     */
+    String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * Stores a new value at the given free slot
+     */
+    private int add(String value, int slot) {
+        int code = size;
+        String[] current = values;
+        if (code == current.length) {
+            current = Arrays.copyOf(current, code * 2);
+        }
+        current[code] = value;
+        size++;
+        table[slot] = code;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2, current);
+        }
+        // Publish after the element is written so decode sees it without a lock
+        values = current;
+        return code;
+    }
+
+    private void rehash(int capacity, String[] current) {
+        int[] rebuilt = newTable(capacity);
+        int mask = capacity - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = spread(current[code].hashCode()) & mask;
+            while (rebuilt[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            rebuilt[slot] = code;
+        }
+        table = rebuilt;
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean contentEquals(String value, char[] chars, int from, int to) {
+        if (value.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != chars[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
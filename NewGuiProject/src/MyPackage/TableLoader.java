@@ -0,0 +1,196 @@
+package MyPackage;
+
+import java.awt.Frame;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingWorker;
+
+/**
+ * Loads table rows on a background thread and hands them to the table in chunks
+ *
+ * A Source runs off the Event Dispatch Thread and passes each row to add().
+ * Rows are collected into chunks and published; SwingWorker delivers them
+ * on the Event Dispatch Thread to the target, normally a table model's
+ * append method, so the window stays responsive and fills in while the
+ * rest is still loading:
+ * - The first chunk is small, so the first rows appear almost at once;
+ *   later chunks double in size up to MAX_CHUNK to keep repaints rare
+ * - A chunk is also sent once it has waited MAX_DELAY_NANOS, so a slow
+ *   source still shows its rows promptly
+ *
+ * cancel(true) stops the source at its next add(). progress() sets the
+ * SwingWorker progress, which showProgressIn() displays in a frame title.
+ *
+ * @param <T> Type of the rows
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class TableLoader<T> extends SwingWorker<Integer, List<T>> {
+    /** Rows in the first chunk */
+    private static final int FIRST_CHUNK = 64;
+    /** Most rows in one chunk */
+    private static final int MAX_CHUNK = 16384;
+    /** Longest a row waits before its chunk is sent, 20 ms */
+    private static final long MAX_DELAY_NANOS = 20_000_000L;
+
+    private static final Logger LOGGER = Logger.getLogger(TableLoader.class.getName());
+
+    /**
+     * Produces the rows, running on the background thread
+     *
+     * @param <T> Type of the rows
+     */
+    public interface Source<T> {
+        /**
+         * Passes every row to loader.add(), in display order
+         *
+         * @param loader The loader to add rows to
+         * @throws Exception if loading fails; rows added so far stay in the table
+         */
+        void load(TableLoader<T> loader) throws Exception;
+    }
+
+    /** Produces the rows */
+    private final Source<T> source;
+    /** Receives each chunk on the Event Dispatch Thread */
+    private final Consumer<? super List<T>> target;
+    /** Rows waiting to be published */
+    private List<T> chunk = new ArrayList<>(FIRST_CHUNK);
+    /** Size at which the current chunk is published */
+    private int chunkLimit = FIRST_CHUNK;
+    /** Time the first row of the current chunk was added */
+    private long chunkStarted;
+    /** Rows added so far */
+    private int rows;
+
+    /**
+     * Creates a loader; call execute() to start it
+     *
+     * @param source Produces the rows on the background thread
+     * @param target Receives each chunk on the Event Dispatch Thread
+     */
+    public TableLoader(Source<T> source, Consumer<? super List<T>> target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    /**
+     * Creates a loader that hands over the rows of a list already in memory
+     *
+     * @param <T> Type of the rows
+     * @param rows Rows to show, in display order
+     * @param target Receives each chunk on the Event Dispatch Thread
+     * @return The loader; call execute() to start it
+     */
+    public static <T> TableLoader<T> forList(List<? extends T> rows, Consumer<? super List<T>> target) {
+        return new TableLoader<>(loader -> {
+            int total = rows.size();
+            int done = 0;
+            for (T row : rows) {
+                loader.add(row);
+                loader.progress(++done, total);
+            }
+        }, target);
+    }
+
+    /**
+     * Adds a row; called by the source on the background thread
+     *
+     * @param row The row
+     * @throws CancellationException if the loader was cancelled
+     */
+    public void add(T row) {
+        if (isCancelled()) {
+            throw new CancellationException("Table loading cancelled after " + rows + " rows");
+        }
+        if (chunk.isEmpty()) {
+            chunkStarted = System.nanoTime();
+        }
+        chunk.add(row);
+        rows++;
+        // Check the clock only every 64 rows
+        if (chunk.size() >= chunkLimit
+                || ((rows & 63) == 0 && System.nanoTime() - chunkStarted >= MAX_DELAY_NANOS)) {
+            flush();
+        }
+    }
+
+    /**
+     * Reports how far loading has come; called by the source
+     *
+     * @param done Rows or bytes done
+     * @param total Rows or bytes in all, or 0 if unknown
+     */
+    public void progress(long done, long total) {
+        if (total > 0) {
+            int percent = (int) Math.min(100, done * 100 / total);
+            if (percent != getProgress()) {
+                setProgress(percent);
+            }
+        }
+    }
+
+    /**
+     * Shows the progress in a frame's title until loading ends
+     *
+     * @param frame The frame
+     */
+    public void showProgressIn(Frame frame) {
+        String title = frame.getTitle();
+        addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                frame.setTitle(title + (title.isEmpty() ? "" : " - ") + "Loading " + event.getNewValue() + "%");
+            } else if ("state".equals(event.getPropertyName()) && event.getNewValue() == StateValue.DONE) {
+                frame.setTitle(title);
+            }
+        });
+    }
+
+    @Override
+    protected Integer doInBackground() throws Exception {
+        source.load(this);
+        flush();
+        return rows;
+    }
+
+    @Override
+    protected void process(List<List<T>> chunks) {
+        if (isCancelled()) {
+            return;
+        }
+        for (List<T> published : chunks) {
+            target.accept(published);
+        }
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            return;
+        }
+        try {
+            get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.SEVERE, "Unable to load table rows", e.getCause());
+        }
+    }
+
+    /**
+     * Publishes the current chunk and starts a larger one
+     */
+    private void flush() {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        publish(chunk);
+        chunkLimit = Math.min(MAX_CHUNK, chunkLimit * 2);
+        chunk = new ArrayList<>(chunkLimit);
+    }
+}
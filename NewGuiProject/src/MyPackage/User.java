@@ -1,3 +1,5 @@
+package MyPackage;
+
 /**
  * User class represents a system user in the MotorPH Payroll System.
  * 
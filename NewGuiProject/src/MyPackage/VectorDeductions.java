@@ -0,0 +1,320 @@
+package MyPackage;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Batch deduction kernels using the Vector API
+ *
+ * Each kernel evaluates every bracket or tax band for a whole vector of
+ * gross pays and picks the right one per lane with masks and blends,
+ * instead of branching per employee. Amounts are whole centavos held in
+ * double lanes, which represent them exactly, and percentages are rounded
+ * half up exactly as Money.percent does, so the results are identical to
+ * the scalar methods of Employee.
+ *
+ * Keeping the centavos in double lanes lets the kernels take a percentage
+ * with one multiplication and round it with additions. Centavo arrays move
+ * between long and double lanes by adding a constant to the bit pattern,
+ * since the Vector API's own lane conversion costs more than the rest of
+ * a kernel, and the peso overloads convert to centavos in the lanes, so
+ * no kernel allocates. A vector holding a negative amount, one beyond
+ * LIMIT or one that is not a number is computed with the scalar code
+ * instead, as are the few amounts after the last whole vector.
+ *
+ * This class needs the jdk.incubator.vector module (run with
+ * --add-modules jdk.incubator.vector). Callers check AVAILABLE first;
+ * without the module Employee uses its scalar loop.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+final class VectorDeductions {
+    /** Whether the Vector API module is present in this JVM */
+    static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * Largest gross pay in centavos, 100 million pesos, handled in vector lanes
+     * Below it, any percentage of it stays under 2^32 centavos, where a
+     * double is within 2^-20 of the exact quotient
+     */
+    private static final long LIMIT = 10_000_000_000L;
+
+    private VectorDeductions() {
+    }
+
+    /**
+     * Computes SSS, PhilHealth and Pag-IBIG combined for each gross pay
+     *
+     * @param table SSS table to use
+     * @param grossPays The gross pay amounts in centavos
+     * @param result Receives the deduction at the same index as each amount; may be grossPays
+     */
+    static void basic(SssContributionTable table, long[] grossPays, long[] result) {
+        Kernels.basic(table, grossPays, result);
+    }
+
+    /**
+     * Computes SSS, PhilHealth and Pag-IBIG combined for each gross pay
+     * Each result equals Employee.calculateBasicDeduction for the same pay
+     *
+     * @param table SSS table to use
+     * @param grossPays The gross pay amounts in pesos
+     * @param result Receives the deduction at the same index as each amount; may be grossPays
+     * @throws ArithmeticException if an amount is not finite or does not fit
+     */
+    static void basic(SssContributionTable table, double[] grossPays, double[] result) {
+        Kernels.basic(table, grossPays, result);
+    }
+
+    /**
+     * Computes the tax deduction for each gross pay
+     *
+     * @param grossPays The gross pay amounts in centavos
+     * @param result Receives the deduction at the same index as each amount; may be grossPays
+     */
+    static void tax(long[] grossPays, long[] result) {
+        Kernels.tax(grossPays, result);
+    }
+
+    /**
+     * Computes the tax deduction for each gross pay
+     * Each result equals Employee.calculateTaxDeduction for the same pay
+     *
+     * @param grossPays The gross pay amounts in pesos
+     * @param result Receives the deduction at the same index as each amount; may be grossPays
+     * @throws ArithmeticException if an amount is not finite or does not fit
+     */
+    static void tax(double[] grossPays, double[] result) {
+        Kernels.tax(grossPays, result);
+    }
+
+    /**
+     * Holds everything that touches Vector API types, so that loading
+     * VectorDeductions to read AVAILABLE never needs the module
+     *
+     * Each loop hands a vector's index to a method that loads, computes and
+     * stores it, and every awkward case to the scalar methods, rather than
+     * passing vectors around or masking the tail. A kernel too large for
+     * the JIT to inline into its caller then still takes and returns no
+     * vector, which it would otherwise box on every iteration.
+     */
+    private static final class Kernels {
+        private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+        private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+        /**
+         * 1.5 times 2^52, where the gap between doubles is exactly 1
+         * Adding it to a double below 2^51 rounds that to a whole number,
+         * and the bits of the sum are the bits of this constant plus the
+         * whole number, which is how longs and doubles convert below
+         */
+        private static final double ROUNDING = 0x1.8p52;
+        private static final long ROUNDING_BITS = Double.doubleToRawLongBits(ROUNDING);
+
+        /** Half of the smallest step between percentages of whole centavos */
+        private static final double NUDGE = 0.5 / Money.BASIS_POINTS;
+
+        static void basic(SssContributionTable table, long[] grossPays, long[] result) {
+            int i = 0;
+            for (int bound = LONGS.loopBound(grossPays.length); i < bound; i += LONGS.length()) {
+                if (!basic(table, grossPays, result, i)) {
+                    basicScalar(table, grossPays, result, i, i + LONGS.length());
+                }
+            }
+            basicScalar(table, grossPays, result, i, grossPays.length);
+        }
+
+        static void basic(SssContributionTable table, double[] grossPays, double[] result) {
+            int i = 0;
+            for (int bound = SPECIES.loopBound(grossPays.length); i < bound; i += SPECIES.length()) {
+                if (!basic(table, grossPays, result, i)) {
+                    basicScalar(table, grossPays, result, i, i + SPECIES.length());
+                }
+            }
+            basicScalar(table, grossPays, result, i, grossPays.length);
+        }
+
+        static void tax(long[] grossPays, long[] result) {
+            int i = 0;
+            for (int bound = LONGS.loopBound(grossPays.length); i < bound; i += LONGS.length()) {
+                if (!tax(grossPays, result, i)) {
+                    taxScalar(grossPays, result, i, i + LONGS.length());
+                }
+            }
+            taxScalar(grossPays, result, i, grossPays.length);
+        }
+
+        static void tax(double[] grossPays, double[] result) {
+            int i = 0;
+            for (int bound = SPECIES.loopBound(grossPays.length); i < bound; i += SPECIES.length()) {
+                if (!tax(grossPays, result, i)) {
+                    taxScalar(grossPays, result, i, i + SPECIES.length());
+                }
+            }
+            taxScalar(grossPays, result, i, grossPays.length);
+        }
+
+        /**
+         * Computes one vector of basic deductions, if every amount in it is in range
+         *
+         * @return Whether the vector was computed; if not, nothing was stored
+         */
+        private static boolean basic(SssContributionTable table, long[] grossPays, long[] result, int i) {
+            LongVector gross = LongVector.fromArray(LONGS, grossPays, i);
+            if (!inRange(gross)) {
+                return false;
+            }
+            longs(basic(table, doubles(gross))).intoArray(result, i);
+            return true;
+        }
+
+        private static boolean basic(SssContributionTable table, double[] grossPays, double[] result, int i) {
+            DoubleVector gross = DoubleVector.fromArray(SPECIES, grossPays, i).mul((double) Money.CENTAVOS_PER_PESO);
+            if (!inRange(gross)) {
+                return false;
+            }
+            pesos(basic(table, centavos(gross))).intoArray(result, i);
+            return true;
+        }
+
+        private static boolean tax(long[] grossPays, long[] result, int i) {
+            LongVector gross = LongVector.fromArray(LONGS, grossPays, i);
+            if (!inRange(gross)) {
+                return false;
+            }
+            longs(tax(doubles(gross))).intoArray(result, i);
+            return true;
+        }
+
+        private static boolean tax(double[] grossPays, double[] result, int i) {
+            DoubleVector gross = DoubleVector.fromArray(SPECIES, grossPays, i).mul((double) Money.CENTAVOS_PER_PESO);
+            if (!inRange(gross)) {
+                return false;
+            }
+            pesos(tax(centavos(gross))).intoArray(result, i);
+            return true;
+        }
+
+        private static void basicScalar(SssContributionTable table, long[] grossPays, long[] result, int from, int to) {
+            for (int j = from; j < to; j++) {
+                result[j] = Employee.basicDeduction(table, grossPays[j]);
+            }
+        }
+
+        private static void basicScalar(SssContributionTable table, double[] grossPays, double[] result, int from, int to) {
+            for (int j = from; j < to; j++) {
+                result[j] = Money.toPesos(Employee.basicDeduction(table, Money.ofPesos(grossPays[j])));
+            }
+        }
+
+        private static void taxScalar(long[] grossPays, long[] result, int from, int to) {
+            for (int j = from; j < to; j++) {
+                result[j] = Employee.taxDeduction(grossPays[j]);
+            }
+        }
+
+        private static void taxScalar(double[] grossPays, double[] result, int from, int to) {
+            for (int j = from; j < to; j++) {
+                result[j] = Money.toPesos(Employee.taxDeduction(Money.ofPesos(grossPays[j])));
+            }
+        }
+
+        private static DoubleVector basic(SssContributionTable table, DoubleVector gross) {
+            // Start above the top bracket and move down while the pay fits
+            int brackets = table.bracketCount();
+            DoubleVector sss = DoubleVector.broadcast(SPECIES, (double) table.contributionOf(brackets));
+            for (int k = brackets - 1; k >= 0; k--) {
+                sss = sss.blend((double) table.contributionOf(k),
+                                gross.compare(VectorOperators.LE, (double) table.ceiling(k)));
+            }
+            DoubleVector philHealth = percent(gross, Employee.PHILHEALTH_RATE);
+            DoubleVector pagIbig = percent(gross, Employee.PAG_IBIG_RATE).min((double) Employee.PAG_IBIG_CAP);
+            return sss.add(philHealth).add(pagIbig);
+        }
+
+        private static DoubleVector tax(DoubleVector gross) {
+            // Pick each lane's band, top band first, then take one percentage
+            long[] thresholds = Employee.TAX_THRESHOLDS;
+            int last = thresholds.length - 1;
+            DoubleVector threshold = DoubleVector.broadcast(SPECIES, (double) thresholds[last]);
+            DoubleVector rate = DoubleVector.broadcast(SPECIES, fraction(Employee.TAX_RATES[last]));
+            DoubleVector base = DoubleVector.broadcast(SPECIES, (double) Employee.TAX_BASES[last]);
+            for (int b = last - 1; b >= 0; b--) {
+                VectorMask<Double> within = gross.compare(VectorOperators.LE, (double) thresholds[b + 1]);
+                threshold = threshold.blend((double) thresholds[b], within);
+                rate = rate.blend(fraction(Employee.TAX_RATES[b]), within);
+                base = base.blend((double) Employee.TAX_BASES[b], within);
+            }
+            // Lanes at or below the first threshold come out negative here and are zeroed below
+            DoubleVector tax = halfUp(gross.sub(threshold).mul(rate)).add(base);
+            return tax.blend(0.0, gross.compare(VectorOperators.LE, (double) thresholds[0]));
+        }
+
+        /**
+         * Takes a percentage of each lane, rounding half up like Money.percent
+         */
+        private static DoubleVector percent(DoubleVector centavos, long basisPoints) {
+            return halfUp(centavos.mul(fraction(basisPoints)));
+        }
+
+        /**
+         * Rounds percentages of whole, non-negative centavos half up
+         *
+         * @param quotients Centavos times a rate as a fraction, each under 2^32
+         */
+        private static DoubleVector halfUp(DoubleVector quotients) {
+            // An exact quotient is a whole number of ten-thousandths, so adding
+            // half of one makes rounding to nearest round halves up and still
+            // leaves every other quotient on its side of the half, even with
+            // the 2^-20 error the multiplication may carry
+            return quotients.add(NUDGE).add(ROUNDING).sub(ROUNDING);
+        }
+
+        private static double fraction(long basisPoints) {
+            return basisPoints / (double) Money.BASIS_POINTS;
+        }
+
+        /**
+         * Rounds non-negative amounts to whole centavos, halves up like Money.ofPesos
+         */
+        private static DoubleVector centavos(DoubleVector amounts) {
+            DoubleVector rounded = amounts.add(ROUNDING).sub(ROUNDING);
+            // Rounding to even takes exact halves down half the time; put them back up
+            return rounded.add(1.0, amounts.sub(rounded).compare(VectorOperators.EQ, 0.5));
+        }
+
+        /**
+         * Converts each lane, which must be within 2^51 of zero, to a double
+         */
+        private static DoubleVector doubles(LongVector centavos) {
+            return centavos.add(ROUNDING_BITS).reinterpretAsDoubles().sub(ROUNDING);
+        }
+
+        /**
+         * Converts each lane, which must be whole and within 2^51 of zero, to a long
+         */
+        private static LongVector longs(DoubleVector centavos) {
+            return centavos.add(ROUNDING).reinterpretAsLongs().sub(ROUNDING_BITS);
+        }
+
+        private static DoubleVector pesos(DoubleVector centavos) {
+            return centavos.div((double) Money.CENTAVOS_PER_PESO);
+        }
+
+        /**
+         * Whether every lane is a number from 0 to LIMIT
+         * NaN fails both comparisons, so it falls back to the scalar code too
+         */
+        private static boolean inRange(DoubleVector gross) {
+            return gross.compare(VectorOperators.GE, 0.0).and(gross.compare(VectorOperators.LE, (double) LIMIT)).allTrue();
+        }
+
+        private static boolean inRange(LongVector gross) {
+            return gross.compare(VectorOperators.GE, 0L).and(gross.compare(VectorOperators.LE, LIMIT)).allTrue();
+        }
+    }
+}
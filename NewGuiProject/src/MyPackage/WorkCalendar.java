@@ -0,0 +1,273 @@
+package MyPackage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Counts workdays, Monday to Friday excluding holidays
+ *
+ * Holidays are loaded from "Philippine Holidays.csv", which has the layout
+ * Date,Holiday,Type with one row per regular holiday or special
+ * non-working day. Adding a year's proclamation means adding rows, not
+ * changing code.
+ *
+ * A count never walks the range day by day:
+ * - Weekdays come from a closed-form formula on the epoch day
+ * - Holidays that fall on a weekday are bits in a bitmap covering whole
+ *   years, one bit per day; a running count per 64-bit word plus one
+ *   Long.bitCount gives the holidays before any day
+ *
+ * so a range of any length, across any number of years, is answered in
+ * constant time. Days outside the years in the file count as having no
+ * holidays; the first time a count or check reaches before or after the
+ * years in the file, a warning says so, so that the missing proclamation
+ * can be added.
+ *
+ * Instances are safe to share between threads; apart from whether they
+ * have warned yet, they are immutable.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public final class WorkCalendar {
+    /** Classpath resource holding the holidays */
+    public static final String RESOURCE = "Philippine Holidays.csv";
+
+    /** Epoch day of January 1 of the first year covered by the bitmap */
+    private final long firstDay;
+    /** Number of days covered by the bitmap */
+    private final int dayCount;
+    /** Bit d is set when firstDay + d is a holiday falling on a weekday */
+    private final long[] words;
+    /** Number of set bits in the words before each word, with the total at the end */
+    private final int[] ranks;
+    /** Whether a day before the first year has been warned about */
+    private final AtomicBoolean warnedBefore = new AtomicBoolean();
+    /** Whether a day after the last year has been warned about */
+    private final AtomicBoolean warnedAfter = new AtomicBoolean();
+
+    private static final Logger LOGGER = Logger.getLogger(WorkCalendar.class.getName());
+
+    /**
+     * Creates a calendar from a set of holidays
+     *
+     * @param holidays Holidays as epoch days; weekend dates are ignored
+     */
+    WorkCalendar(long[] holidays) {
+        if (holidays.length == 0) {
+            firstDay = 0;
+            dayCount = 0;
+            words = new long[0];
+            ranks = new int[1];
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long day : holidays) {
+            min = Math.min(min, day);
+            max = Math.max(max, day);
+        }
+        LocalDate first = LocalDate.ofEpochDay(min).withDayOfYear(1);
+        LocalDate end = LocalDate.ofEpochDay(max).withDayOfYear(1).plusYears(1);
+        firstDay = first.toEpochDay();
+        dayCount = Math.toIntExact(end.toEpochDay() - firstDay);
+
+        BitSet bits = new BitSet(dayCount);
+        for (long day : holidays) {
+            if (isWeekday(day)) {
+                bits.set((int) (day - firstDay));
+            }
+        }
+        words = Arrays.copyOf(bits.toLongArray(), (dayCount + 63) >>> 6);
+        ranks = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            ranks[i + 1] = ranks[i] + Long.bitCount(words[i]);
+        }
+    }
+
+    /**
+     * Gets the calendar with the bundled Philippine holidays
+     *
+     * @return The shared calendar
+     */
+    public static WorkCalendar standard() {
+        return Standard.CALENDAR;
+    }
+
+    /**
+     * Reads holidays from CSV
+     *
+     * @param reader Source of the CSV, starting with a header row
+     * @return Calendar with those holidays
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if a date is malformed
+     */
+    static WorkCalendar read(Reader reader) throws IOException {
+        long[] holidays = new long[64];
+        int count = 0;
+        try (CsvTokenizer csv = new CsvTokenizer(reader)) {
+            boolean header = true;
+            while (csv.next()) {
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                if (csv.isEmpty(0)) {
+                    continue;
+                }
+                try {
+                    if (count == holidays.length) {
+                        holidays = Arrays.copyOf(holidays, count * 2);
+                    }
+                    holidays[count++] = LocalDate.parse(csv.field(0).trim()).toEpochDay();
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Invalid holiday date on line " + csv.lineNumber()
+                        + ": " + csv.field(0));
+                }
+            }
+        }
+        return new WorkCalendar(Arrays.copyOf(holidays, count));
+    }
+
+    /**
+     * Counts the workdays in a range
+     *
+     * @param startDate First day of the range, inclusive
+     * @param endDate Last day of the range, inclusive
+     * @return Weekdays in the range that are not holidays, or 0 if startDate is after endDate
+     */
+    public long workdays(LocalDate startDate, LocalDate endDate) {
+        long from = startDate.toEpochDay();
+        long to = endDate.toEpochDay() + 1;
+        if (from >= to) {
+            return 0;
+        }
+        checkCovered(from, to);
+        return weekdaysBefore(to) - weekdaysBefore(from) - (holidaysBefore(to) - holidaysBefore(from));
+    }
+
+    /**
+     * Counts the holidays in a range that fall on a weekday
+     *
+     * @param startDate First day of the range, inclusive
+     * @param endDate Last day of the range, inclusive
+     * @return Weekday holidays in the range, or 0 if startDate is after endDate
+     */
+    public long holidays(LocalDate startDate, LocalDate endDate) {
+        long from = startDate.toEpochDay();
+        long to = endDate.toEpochDay() + 1;
+        if (from >= to) {
+            return 0;
+        }
+        checkCovered(from, to);
+        return holidaysBefore(to) - holidaysBefore(from);
+    }
+
+    /**
+     * Checks whether a day is a workday
+     *
+     * @param date The day
+     * @return true if it is a weekday and not a holiday
+     */
+    public boolean isWorkday(LocalDate date) {
+        return isWorkday(date.toEpochDay());
+    }
+
+    /**
+     * Checks whether an epoch day is a workday, without creating a LocalDate
+     *
+     * @param epochDay The day as days since 1970-01-01
+     * @return true if it is a weekday and not a holiday
+     */
+    boolean isWorkday(long epochDay) {
+        checkCovered(epochDay, epochDay + 1);
+        return isWeekday(epochDay) && !isHoliday(epochDay);
+    }
+
+    /**
+     * Warns, once for each side, when a range reaches outside the years in the file
+     *
+     * @param from First epoch day of the range
+     * @param to Epoch day after the range
+     */
+    private void checkCovered(long from, long to) {
+        // Read the flags before setting them, so that a payroll run over an
+        // uncovered year does not write a shared cache line for every day
+        if (from < firstDay && !warnedBefore.get() && !warnedBefore.getAndSet(true)) {
+            warnUncovered("before " + LocalDate.ofEpochDay(firstDay).getYear());
+        }
+        if (to > firstDay + dayCount && !warnedAfter.get() && !warnedAfter.getAndSet(true)) {
+            warnUncovered("after " + LocalDate.ofEpochDay(firstDay + dayCount - 1).getYear());
+        }
+    }
+
+    private static void warnUncovered(String years) {
+        LOGGER.log(Level.WARNING, "{0} lists no holidays {1}; those days are counted as if there were none",
+                   new Object[] {RESOURCE, years});
+    }
+
+    /**
+     * Counts the Monday-to-Friday days before an epoch day
+     * Days are counted from the Monday before the epoch, 1969-12-29
+     */
+    private static long weekdaysBefore(long epochDay) {
+        long fromMonday = epochDay + 3;
+        return Math.floorDiv(fromMonday, 7) * 5 + Math.min(Math.floorMod(fromMonday, 7), 5);
+    }
+
+    private static boolean isWeekday(long epochDay) {
+        return Math.floorMod(epochDay + 3, 7) < 5;
+    }
+
+    private boolean isHoliday(long epochDay) {
+        long offset = epochDay - firstDay;
+        return offset >= 0 && offset < dayCount && (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    /**
+     * Counts the weekday holidays before an epoch day
+     */
+    private long holidaysBefore(long epochDay) {
+        long offset = epochDay - firstDay;
+        if (offset <= 0) {
+            return 0;
+        }
+        if (offset >= dayCount) {
+            return ranks[words.length];
+        }
+        int word = (int) (offset >>> 6);
+        // A long shift uses the low 6 bits of offset, its position within the word
+        long below = (1L << offset) - 1;
+        return ranks[word] + Long.bitCount(words[word] & below);
+    }
+
+    /**
+     * Calendar loaded from the bundled resource on first use
+     */
+    private static final class Standard {
+        static final WorkCalendar CALENDAR = loadResource();
+
+        private static WorkCalendar loadResource() {
+            InputStream in = WorkCalendar.class.getResourceAsStream(RESOURCE);
+            if (in == null) {
+                throw new IllegalStateException("Holiday calendar resource not found: " + RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return read(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read holiday calendar " + RESOURCE, e);
+            }
+        }
+    }
+}
@@ -10,11 +10,17 @@ package MyPackage;
  */
 public class empAttendance extends javax.swing.JFrame {
 
+    /** Fills the table in the background when the form is shown; null after leaving it */
+    private TableLoader<Employee> loader;
+
     /**
      * Creates new form empAttendance
      */
     public empAttendance() {
         initComponents();
+
+        // Show rows from clock events and attendance file reloads as they arrive
+        PayrollData.addAttendanceListener(((AttendanceTableModel) jTable1.getModel())::refreshLater);
     }
 
     /**
@@ -30,40 +36,18 @@ public class empAttendance extends javax.swing.JFrame {
         jTable1 = new javax.swing.JTable();
         jLabel1 = new javax.swing.JLabel();
         jButton1 = new javax.swing.JButton();
+        jButton2 = new javax.swing.JButton();
+        jButton3 = new javax.swing.JButton();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
-
-        jTable1.setBackground(new java.awt.Color(204, 204, 204));
-        jTable1.setModel(new javax.swing.table.DefaultTableModel(
-            new Object [][] {
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null},
-                {null, null, null, null, null}
-            },
-            new String [] {
-                "Employee Number", "Employee Name", "Date", "Log-In", "Log-Out"
-            }
-        ) {
-            Class[] types = new Class [] {
-                java.lang.String.class, java.lang.String.class, java.lang.String.class, java.lang.String.class, java.lang.String.class
-            };
-
-            public Class getColumnClass(int columnIndex) {
-                return types [columnIndex];
+        addComponentListener(new java.awt.event.ComponentAdapter() {
+            public void componentShown(java.awt.event.ComponentEvent evt) {
+                formComponentShown(evt);
             }
         });
+
+        jTable1.setBackground(new java.awt.Color(204, 204, 204));
+        jTable1.setModel(new AttendanceTableModel());
         jTable1.setShowGrid(true);
         jScrollPane1.setViewportView(jTable1);
 
@@ -80,6 +64,22 @@ public class empAttendance extends javax.swing.JFrame {
             }
         });
 
+        jButton2.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
+        jButton2.setText("TIME IN");
+        jButton2.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jButton2ActionPerformed(evt);
+            }
+        });
+
+        jButton3.setFont(new java.awt.Font("Segoe UI", 1, 12)); // NOI18N
+        jButton3.setText("TIME OUT");
+        jButton3.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jButton3ActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(getContentPane());
         getContentPane().setLayout(layout);
         layout.setHorizontalGroup(
@@ -95,6 +95,10 @@ public class empAttendance extends javax.swing.JFrame {
                 .addContainerGap())
             .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, layout.createSequentialGroup()
                 .addGap(0, 0, Short.MAX_VALUE)
+                .addComponent(jButton2)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(jButton3)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(jButton1)
                 .addGap(31, 31, 31))
         );
@@ -106,7 +110,10 @@ public class empAttendance extends javax.swing.JFrame {
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(jScrollPane1, javax.swing.GroupLayout.PREFERRED_SIZE, 206, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addGap(28, 28, 28)
-                .addComponent(jButton1)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jButton2)
+                    .addComponent(jButton3)
+                    .addComponent(jButton1))
                 .addGap(28, 28, 28))
         );
 
@@ -114,11 +121,80 @@ public class empAttendance extends javax.swing.JFrame {
     }// </editor-fold>//GEN-END:initComponents
 
     private void jButton1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton1ActionPerformed
-    EmployeeDetail back = new EmployeeDetail();
-    back.setVisible(true);
-    this.dispose();// TODO add your handling code here:
+    // Stop loading and empty the table; the form is kept and loads again when next shown
+    if (loader != null) {
+        loader.cancel(true);
+        loader = null;
+        ((AttendanceTableModel) jTable1.getModel()).clear();
+    }
+    FormRegistry.show(this, EmployeeDetail.class);
     }//GEN-LAST:event_jButton1ActionPerformed
 
+    private void formComponentShown(java.awt.event.ComponentEvent evt) {//GEN-FIRST:event_formComponentShown
+        // Already loading or loaded since the form was last left
+        if (loader != null) {
+            return;
+        }
+        AttendanceTableModel model = (AttendanceTableModel) jTable1.getModel();
+        loader = new TableLoader<>(rows -> {
+            java.util.List<Employee> employees = PayrollData.getEmployees();
+            if (employees.isEmpty()) {
+                // Nothing loaded yet: read the CSV files without making them the shared data,
+                // which is left to MyGUI; clocking in stays unavailable until then
+                employees = new EmployeeCsvStorage().load();
+                new AttendanceCsvLoader().load(employees);
+            }
+            int done = 0;
+            for (Employee employee : employees) {
+                rows.add(employee);
+                rows.progress(++done, employees.size());
+            }
+        }, model::append);
+        loader.showProgressIn(this);
+        loader.execute();
+    }//GEN-LAST:event_formComponentShown
+
+    private void jButton2ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton2ActionPerformed
+        clock(true);
+    }//GEN-LAST:event_jButton2ActionPerformed
+
+    private void jButton3ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton3ActionPerformed
+        clock(false);
+    }//GEN-LAST:event_jButton3ActionPerformed
+
+    /**
+     * Clocks the employee of the selected row in or out at the current time
+     * The event goes through the attendance journal, and the table shows it
+     * once it is on disk and applied
+     *
+     * @param in true to clock in, false to clock out
+     */
+    private void clock(boolean in) {
+        int row = jTable1.getSelectedRow();
+        if (row < 0) {
+            javax.swing.JOptionPane.showMessageDialog(this, "Select a row of the employee first.",
+                "Attendance", javax.swing.JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        AttendanceTableModel model = (AttendanceTableModel) jTable1.getModel();
+        Employee employee = model.getEmployee(jTable1.convertRowIndexToModel(row));
+        java.util.concurrent.CompletableFuture<Void> durable;
+        try {
+            durable = in ? PayrollData.clockIn(employee) : PayrollData.clockOut(employee);
+        } catch (RuntimeException ex) {
+            javax.swing.JOptionPane.showMessageDialog(this, ex.getMessage(),
+                "Attendance", javax.swing.JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        // On success the attendance listener refreshes the table
+        durable.whenComplete((done, failure) -> {
+            if (failure != null) {
+                javax.swing.SwingUtilities.invokeLater(() -> javax.swing.JOptionPane.showMessageDialog(this,
+                    "Unable to record the time: " + failure.getMessage(), "Attendance", javax.swing.JOptionPane.ERROR_MESSAGE));
+            }
+        });
+    }
+
     /**
      * @param args the command line arguments
      */
@@ -149,13 +225,15 @@ public class empAttendance extends javax.swing.JFrame {
         /* Create and display the form */
         java.awt.EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new empAttendance().setVisible(true);
+                FormRegistry.show(null, empAttendance.class);
             }
         });
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JButton jButton1;
+    private javax.swing.JButton jButton2;
+    private javax.swing.JButton jButton3;
     private javax.swing.JLabel jLabel1;
     private javax.swing.JScrollPane jScrollPane1;
     private javax.swing.JTable jTable1;
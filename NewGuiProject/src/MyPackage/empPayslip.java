@@ -4,9 +4,13 @@
  */
 package MyPackage;
 
-import java.text.SimpleDateFormat;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 import javax.swing.JOptionPane;
+import javax.swing.JTextField;
 
 /**
  *
@@ -14,11 +18,20 @@ import javax.swing.JOptionPane;
  */
 public class empPayslip extends javax.swing.JFrame {
 
+    /** Employee whose payslip is shown; asked for, or confirmed, on every View Payslip */
+    private Employee employee;
+    /** Computes payslips off the Event Dispatch Thread; only the latest is shown */
+    private final LatestTask<Payslip> payslips = new LatestTask<>("Payslip");
+
     /**
      * Creates new form empPayslip
      */
     public empPayslip() {
         initComponents();
+
+        // Recompute as the dates change
+        jDateFrom.addPropertyChangeListener("date", evt -> refreshPayslip());
+        jDateTo.addPropertyChangeListener("date", evt -> refreshPayslip());
     }
 
     /**
@@ -452,9 +465,8 @@ public class empPayslip extends javax.swing.JFrame {
     }//GEN-LAST:event_jTextField17ActionPerformed
 
     private void jButton1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton1ActionPerformed
-    EmployeeDetail back = new EmployeeDetail();
-    back.setVisible(true);
-    this.dispose();    // TODO add your handling code here:
+    payslips.cancel();
+    FormRegistry.show(this, EmployeeDetail.class);
     }//GEN-LAST:event_jButton1ActionPerformed
 
     private void jTextField19ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jTextField19ActionPerformed
@@ -477,20 +489,116 @@ public class empPayslip extends javax.swing.JFrame {
 
     if (fromDate.after(toDate)) {
         JOptionPane.showMessageDialog(this, "From date cannot be after To date.", "Date Error", JOptionPane.WARNING_MESSAGE);
-    } else {
-        // Proceed to filter/report/etc.
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        String from = sdf.format(fromDate);
-        String to = sdf.format(toDate);
-
-        JOptionPane.showMessageDialog(this, "Filtering records from " + from + " to " + to);
-        
-        // TODO: Add your filtering logic here
-    
-}
-        // TODO add your handling code here:
+        return;
+    }
+
+    // The form is reused, so ask every time; the current employee is offered first
+    Object id = JOptionPane.showInputDialog(this, "Employee #:", "View Payslip", JOptionPane.QUESTION_MESSAGE,
+        null, null, employee == null ? "" : employee.getId());
+    if (id == null) {
+        return;
+    }
+    Employee found = PayrollData.findEmployee(id.toString());
+    if (found == null) {
+        JOptionPane.showMessageDialog(this, "No employee with number " + id.toString().trim() + ".", "Error", JOptionPane.ERROR_MESSAGE);
+        return;
+    }
+    if (found != employee) {
+        setEmployee(found);
+    }
+
+    requestPayslip(toLocalDate(fromDate), toLocalDate(toDate));
     }//GEN-LAST:event_jButton2ActionPerformed
 
+    /**
+     * Sets the employee whose payslip is shown
+     *
+     * @param employee The employee
+     */
+    public void setEmployee(Employee employee) {
+        payslips.cancel();
+        this.employee = employee;
+        jTextField19.setText(employee.getName());
+    }
+
+    /**
+     * Recomputes the payslip after a date change, if both dates and the
+     * employee are known; incomplete input is left for View Payslip to report
+     */
+    private void refreshPayslip() {
+        Date fromDate = jDateFrom.getDate();
+        Date toDate = jDateTo.getDate();
+        if (employee != null && fromDate != null && toDate != null && !fromDate.after(toDate)) {
+            requestPayslip(toLocalDate(fromDate), toLocalDate(toDate));
+        }
+    }
+
+    /**
+     * Computes a payslip in the background, replacing any computation
+     * still running; the fields are filled only with the latest result
+     *
+     * @param from First day of the range
+     * @param to Last day of the range
+     */
+    private void requestPayslip(LocalDate from, LocalDate to) {
+        Employee selected = employee;
+        payslips.submit(() -> selected.getPayslip(from, to), this::showPayslip, this::showFailure);
+    }
+
+    /**
+     * Clears the payslip figures and reports why they could not be computed,
+     * so that the previous employee's or range's figures are not left showing
+     *
+     * @param failure What the computation threw
+     */
+    private void showFailure(Exception failure) {
+        for (JTextField field : new JTextField[] {jTextField11, jTextField12, jTextField13, jTextField14,
+                jTextField15, jTextField1, jTextField2, jTextField3, jTextField4, jTextField10, jTextField5,
+                jTextField6, jTextField7, jTextField8, jTextField16, jTextField17, jTextField18, jTextField9}) {
+            field.setText("");
+        }
+        JOptionPane.showMessageDialog(this, "Unable to compute the payslip: " + failure.getMessage(), "Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * Fills the payslip fields
+     *
+     * @param payslip Figures to show
+     */
+    private void showPayslip(Payslip payslip) {
+        jTextField19.setText(payslip.getName());
+        jTextField11.setText(String.format("%.2f hours", payslip.getHoursWorked()));
+        jTextField12.setText(payslip.getLateMinutes() + " min");
+        jTextField13.setText(payslip.getOvertimeMinutes() + " min");
+        jTextField14.setText(payslip.getHolidays() + " days");
+        jTextField15.setText(payslip.getLeaveDays() + " days");
+        jTextField1.setText(pesos(payslip.getBasicPayCentavos()));
+        jTextField2.setText(pesos(payslip.getLateAmountCentavos()));
+        jTextField3.setText(pesos(payslip.getOvertimeAmountCentavos()));
+        jTextField4.setText(pesos(payslip.getHolidayAmountCentavos()));
+        jTextField10.setText(pesos(payslip.getLeaveAmountCentavos()));
+        jTextField5.setText(pesos(payslip.getRiceSubsidyCentavos()));
+        jTextField6.setText(pesos(payslip.getPhoneAllowanceCentavos()));
+        jTextField7.setText(pesos(payslip.getClothingAllowanceCentavos()));
+        jTextField8.setText(pesos(payslip.getTaxCentavos()));
+        jTextField16.setText(pesos(payslip.getSssCentavos()));
+        jTextField17.setText(pesos(payslip.getPagIbigCentavos()));
+        jTextField18.setText(pesos(payslip.getPhilHealthCentavos()));
+        jTextField9.setText(pesos(payslip.getNetPayCentavos()));
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * Formats centavos as pesos with grouping, e.g. "45,000.00"
+     */
+    private static String pesos(long centavos) {
+        return new DecimalFormat("#,##0.00").format(BigDecimal.valueOf(centavos, 2));
+    }
+
     /**
      * @param args the command line arguments
      */
@@ -521,7 +629,7 @@ public class empPayslip extends javax.swing.JFrame {
         /* Create and display the form */
         java.awt.EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new empPayslip().setVisible(true);
+                FormRegistry.show(null, empPayslip.class);
             }
         });
     }
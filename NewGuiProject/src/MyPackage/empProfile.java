@@ -4,7 +4,6 @@
  */
 package MyPackage;
 
-import static MyPackage.EmployeeDetail.profile;
 import javax.swing.JFrame;
 
 /**
@@ -13,6 +12,11 @@ import javax.swing.JFrame;
  */
 public class empProfile extends javax.swing.JFrame {
 
+    /** Fills the table in the background when the form is shown; null after leaving it */
+    private TableLoader<Employee> loader;
+    /** Text the table is currently filtered by */
+    private String search = "";
+
     /**
      * Creates new form empProfile
      */
@@ -33,41 +37,20 @@ public class empProfile extends javax.swing.JFrame {
         tableDetails = new javax.swing.JTable();
         jLabel1 = new javax.swing.JLabel();
         jButton1 = new javax.swing.JButton();
+        jLabel2 = new javax.swing.JLabel();
+        jSearch = new javax.swing.JTextField();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
         setBackground(new java.awt.Color(204, 204, 204));
+        addComponentListener(new java.awt.event.ComponentAdapter() {
+            public void componentShown(java.awt.event.ComponentEvent evt) {
+                formComponentShown(evt);
+            }
+        });
 
         tableDetails.setAutoCreateRowSorter(true);
         tableDetails.setBackground(new java.awt.Color(204, 204, 204));
-        tableDetails.setModel(new javax.swing.table.DefaultTableModel(
-            new Object [][] {
-                {null, null, null, null, null, null, null},
-                {null, null, null, null, null, null, null},
-                {null, null, null, null, null, null, null},
-                {null, null, null, null, null, null, null},
-                {null, null, null, null, null, null, null},
-                {null, null, null, null, null, null, null},
-                {null, null, null, null, null, null, null}
-            },
-            new String [] {
-                "Name", "Birthday", "Adress", "SSS Number", "PhilHealth Number", "Pag-Ibig Number", "TIN"
-            }
-        ) {
-            Class[] types = new Class [] {
-                java.lang.String.class, java.lang.String.class, java.lang.String.class, java.lang.String.class, java.lang.String.class, java.lang.String.class, java.lang.String.class
-            };
-            boolean[] canEdit = new boolean [] {
-                false, false, false, false, false, false, false
-            };
-
-            public Class getColumnClass(int columnIndex) {
-                return types [columnIndex];
-            }
-
-            public boolean isCellEditable(int rowIndex, int columnIndex) {
-                return canEdit [columnIndex];
-            }
-        });
+        tableDetails.setModel(new EmployeeTableModel());
         tableDetails.setShowGrid(true);
         jScrollPane1.setViewportView(tableDetails);
 
@@ -84,6 +67,15 @@ public class empProfile extends javax.swing.JFrame {
             }
         });
 
+        jLabel2.setText("Search:");
+
+        jSearch.setToolTipText("Name, employee #, SSS, PhilHealth, TIN or Pag-IBIG number");
+        jSearch.addCaretListener(new javax.swing.event.CaretListener() {
+            public void caretUpdate(javax.swing.event.CaretEvent evt) {
+                jSearchCaretUpdate(evt);
+            }
+        });
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(getContentPane());
         getContentPane().setLayout(layout);
         layout.setHorizontalGroup(
@@ -95,8 +87,12 @@ public class empProfile extends javax.swing.JFrame {
                 .addContainerGap()
                 .addComponent(jLabel1, javax.swing.GroupLayout.PREFERRED_SIZE, 451, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addContainerGap(329, Short.MAX_VALUE))
-            .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, layout.createSequentialGroup()
-                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+            .addGroup(layout.createSequentialGroup()
+                .addContainerGap()
+                .addComponent(jLabel2)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(jSearch, javax.swing.GroupLayout.PREFERRED_SIZE, 250, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                 .addComponent(jButton1)
                 .addGap(22, 22, 22))
         );
@@ -108,7 +104,10 @@ public class empProfile extends javax.swing.JFrame {
                 .addGap(18, 18, 18)
                 .addComponent(jScrollPane1, javax.swing.GroupLayout.PREFERRED_SIZE, 182, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addGap(18, 18, 18)
-                .addComponent(jButton1)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(jLabel2)
+                    .addComponent(jSearch, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(jButton1))
                 .addGap(20, 20, 20))
         );
 
@@ -117,15 +116,63 @@ public class empProfile extends javax.swing.JFrame {
 
     private void jButton1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton1ActionPerformed
 
-    // Open the previous form
-    EmployeeDetail back = new EmployeeDetail();
-    back.setVisible(true);
-
-    // Close the current form
-    this.dispose();
+    // Stop loading and empty the table; the form is kept and loads again when next shown
+    if (loader != null) {
+        loader.cancel(true);
+        loader = null;
+        ((EmployeeTableModel) tableDetails.getModel()).clear();
+    }
+    FormRegistry.show(this, EmployeeDetail.class);
 
     }//GEN-LAST:event_jButton1ActionPerformed
 
+    private void formComponentShown(java.awt.event.ComponentEvent evt) {//GEN-FIRST:event_formComponentShown
+        // Already loading or loaded since the form was last left
+        if (loader != null) {
+            return;
+        }
+        EmployeeTableModel model = (EmployeeTableModel) tableDetails.getModel();
+        java.util.List<Employee> employees = PayrollData.getEmployees();
+        if (employees.isEmpty()) {
+            // Nothing loaded yet: stream the rows straight from the CSV file
+            loader = new TableLoader<>(rows -> new EmployeeCsvStorage().forEach(rows::add), this::appendRows);
+        } else {
+            loader = TableLoader.forList(employees, this::appendRows);
+        }
+        loader.showProgressIn(this);
+        loader.execute();
+    }//GEN-LAST:event_formComponentShown
+
+    private void jSearchCaretUpdate(javax.swing.event.CaretEvent evt) {//GEN-FIRST:event_jSearchCaretUpdate
+        // Moving the caret also lands here; filter only when the text changed
+        String text = jSearch.getText();
+        if (!text.equals(search)) {
+            search = text;
+            applySearch();
+        }
+    }//GEN-LAST:event_jSearchCaretUpdate
+
+    /**
+     * Adds loaded rows to the table, keeping the search applied to them
+     *
+     * @param chunk Employees loaded since the last call
+     */
+    private void appendRows(java.util.List<Employee> chunk) {
+        ((EmployeeTableModel) tableDetails.getModel()).append(chunk);
+        if (!search.isEmpty()) {
+            applySearch();
+        }
+    }
+
+    /**
+     * Filters the table to the employees matching the search text, using
+     * the model's search index rather than reading every row
+     */
+    private void applySearch() {
+        EmployeeTableModel model = (EmployeeTableModel) tableDetails.getModel();
+        ((javax.swing.table.TableRowSorter<?>) tableDetails.getRowSorter()).setRowFilter(model.filterFor(search));
+    }
+
     /**
      * @param args the command line arguments
      */
@@ -156,7 +203,7 @@ public class empProfile extends javax.swing.JFrame {
         /* Create and display the form */
         java.awt.EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new empProfile().setVisible(true);
+                FormRegistry.show(null, empProfile.class);
             }
         });
     }
@@ -164,7 +211,9 @@ public class empProfile extends javax.swing.JFrame {
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JButton jButton1;
     private javax.swing.JLabel jLabel1;
+    private javax.swing.JLabel jLabel2;
     private javax.swing.JScrollPane jScrollPane1;
+    private javax.swing.JTextField jSearch;
     private javax.swing.JTable tableDetails;
     // End of variables declaration//GEN-END:variables
 }
@@ -0,0 +1,170 @@
+package MyPackage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the Vector API kernels give exactly the scalar deductions
+ *
+ * The amounts are every SSS ceiling, tax threshold and Pag-IBIG cap with
+ * the centavos around them, the ends of the range the lanes handle,
+ * negative amounts and ones beyond it. Every array length up to a few
+ * vectors is tried, so each amount is computed both in a lane and in the
+ * scalar tail.
+ *
+ * Run with --add-modules jdk.incubator.vector (run.test.jvmargs); without
+ * the module the tests are skipped.
+ *
+ * @author MotorPH Development Team
+ * @version 1.0
+ */
+public class VectorDeductionsTest {
+    /** Centavos checked on each side of every edge, enough to reach a rounding tie of each rate */
+    private static final int AROUND = 25;
+    /** Largest amount the kernels keep in vector lanes, as in VectorDeductions */
+    private static final long LIMIT = 10_000_000_000L;
+    /** Longer than several vectors of the widest species */
+    private static final int MAX_LENGTH = 40;
+
+    private SssContributionTable table;
+    private Employee employee;
+    private long[] amounts;
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue("jdk.incubator.vector is not present", VectorDeductions.AVAILABLE);
+        table = SssContributionTable.current();
+        employee = new Employee("10001", "Juan", "Dela Cruz", "Rank and File", "N/A",
+            "00-0000000-0", "000000000000", "000000000000", "000-000-000-000", 100.0);
+
+        List<Long> edges = new ArrayList<>();
+        for (int i = 0; i < table.bracketCount(); i++) {
+            edges.add(table.ceiling(i));
+        }
+        for (long threshold : Employee.TAX_THRESHOLDS) {
+            edges.add(threshold);
+        }
+        edges.add(Employee.PAG_IBIG_CAP * 10_000 / Employee.PAG_IBIG_RATE);
+        edges.add(0L);
+        edges.add(LIMIT);
+
+        List<Long> around = new ArrayList<>();
+        for (long edge : edges) {
+            for (long delta = -AROUND; delta <= AROUND; delta++) {
+                around.add(edge + delta);
+            }
+        }
+        amounts = around.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Test
+    public void basicCentavosMatchScalar() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int offset = 0; offset + length <= amounts.length; offset += length + 1) {
+                long[] gross = Arrays.copyOfRange(amounts, offset, offset + length);
+                long[] result = new long[length];
+                VectorDeductions.basic(table, gross, result);
+                for (int i = 0; i < length; i++) {
+                    assertEquals("basic deduction of " + gross[i] + " centavos at index " + i + " of " + length,
+                        Employee.basicDeduction(table, gross[i]), result[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void taxCentavosMatchScalar() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int offset = 0; offset + length <= amounts.length; offset += length + 1) {
+                long[] gross = Arrays.copyOfRange(amounts, offset, offset + length);
+                long[] result = new long[length];
+                VectorDeductions.tax(gross, result);
+                for (int i = 0; i < length; i++) {
+                    assertEquals("tax deduction of " + gross[i] + " centavos at index " + i + " of " + length,
+                        Employee.taxDeduction(gross[i]), result[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void basicPesosMatchEmployee() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int offset = 0; offset + length <= amounts.length; offset += length + 1) {
+                double[] gross = pesos(offset, length);
+                double[] result = new double[length];
+                VectorDeductions.basic(table, gross, result);
+                for (int i = 0; i < length; i++) {
+                    assertEquals("basic deduction of " + gross[i] + " pesos at index " + i + " of " + length,
+                        employee.calculateBasicDeduction(gross[i]), result[i], 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void taxPesosMatchEmployee() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int offset = 0; offset + length <= amounts.length; offset += length + 1) {
+                double[] gross = pesos(offset, length);
+                double[] result = new double[length];
+                VectorDeductions.tax(gross, result);
+                for (int i = 0; i < length; i++) {
+                    assertEquals("tax deduction of " + gross[i] + " pesos at index " + i + " of " + length,
+                        employee.calculateTaxDeduction(gross[i]), result[i], 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void resultMayBeTheInput() {
+        long[] gross = amounts.clone();
+        VectorDeductions.tax(gross, gross);
+        for (int i = 0; i < gross.length; i++) {
+            assertEquals(Employee.taxDeduction(amounts[i]), gross[i]);
+        }
+    }
+
+    @Test
+    public void notANumberFailsLikeScalar() {
+        for (double bad : new double[] {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            for (int length = 1; length <= MAX_LENGTH; length++) {
+                for (int at = 0; at < length; at++) {
+                    double[] gross = pesos(0, length);
+                    double[] result = new double[length];
+                    gross[at] = bad;
+                    assertFails("basic", bad, at, length, () -> VectorDeductions.basic(table, gross, result));
+                    assertFails("tax", bad, at, length, () -> VectorDeductions.tax(gross, result));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a run of the amounts in pesos
+     */
+    private double[] pesos(int offset, int length) {
+        double[] pesos = new double[length];
+        for (int i = 0; i < length; i++) {
+            pesos[i] = Money.toPesos(amounts[offset + i]);
+        }
+        return pesos;
+    }
+
+    private static void assertFails(String kernel, double bad, int at, int length, Runnable call) {
+        try {
+            call.run();
+            fail(kernel + " accepted " + bad + " at index " + at + " of " + length);
+        } catch (ArithmeticException expected) {
+            // the scalar conversion rejects it too
+        }
+    }
+}